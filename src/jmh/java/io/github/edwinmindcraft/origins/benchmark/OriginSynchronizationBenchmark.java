@@ -0,0 +1,115 @@
+package io.github.edwinmindcraft.origins.benchmark;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.edwinmindcraft.origins.common.network.S2CSynchronizeOrigin;
+import io.github.edwinmindcraft.origins.common.network.S2CSynchronizeOriginBatch;
+import io.github.edwinmindcraft.origins.common.network.S2CSynchronizeOriginDelta;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures the codecs of the origin synchronization packets on a synthetic registry.<br>
+ * The defaults match a large pack: 6 layers, 120 origins and 50 tracked players per batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OriginSynchronizationBenchmark {
+	@Param({"1", "6", "16"})
+	public int layers;
+	@Param({"120"})
+	public int origins;
+	@Param({"50"})
+	public int players;
+
+	private S2CSynchronizeOrigin full;
+	private S2CSynchronizeOriginDelta delta;
+	private S2CSynchronizeOriginBatch batch;
+	private FriendlyByteBuf buffer;
+	private FriendlyByteBuf encodedFull;
+	private FriendlyByteBuf encodedDelta;
+	private FriendlyByteBuf encodedBatch;
+
+	@Setup
+	public void setup() {
+		ImmutableMap.Builder<ResourceLocation, ResourceLocation> map = ImmutableMap.builder();
+		int[] layerIds = new int[this.layers];
+		int[] originIds = new int[this.layers];
+		for (int i = 0; i < this.layers; i++) {
+			int origin = (i * 31) % this.origins;
+			map.put(new ResourceLocation("benchmark", "layer_" + i), new ResourceLocation("benchmark", "origin_" + origin));
+			layerIds[i] = i;
+			originIds[i] = origin;
+		}
+		this.full = new S2CSynchronizeOrigin(1, map.build(), true, 1);
+		this.delta = new S2CSynchronizeOriginDelta(1, layerIds, originIds, true, 1);
+		List<S2CSynchronizeOrigin> fulls = new ArrayList<>(this.players);
+		List<S2CSynchronizeOriginDelta> deltas = new ArrayList<>(this.players);
+		for (int i = 0; i < this.players; i++) {
+			fulls.add(new S2CSynchronizeOrigin(i, this.full.origins(), true, i + 1));
+			//Most updates only touch a single layer.
+			deltas.add(new S2CSynchronizeOriginDelta(i, new int[]{i % this.layers}, new int[]{i % this.origins}, true, i + 1));
+		}
+		this.batch = new S2CSynchronizeOriginBatch(fulls, deltas);
+		this.buffer = new FriendlyByteBuf(Unpooled.buffer(1 << 16));
+		this.encodedFull = encoded(this.full::encode);
+		this.encodedDelta = encoded(this.delta::encode);
+		this.encodedBatch = encoded(this.batch::encode);
+	}
+
+	private static FriendlyByteBuf encoded(Consumer<FriendlyByteBuf> encoder) {
+		FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+		encoder.accept(buf);
+		return buf;
+	}
+
+	@Benchmark
+	public ByteBuf encodeFull() {
+		this.buffer.clear();
+		this.full.encode(this.buffer);
+		return this.buffer;
+	}
+
+	@Benchmark
+	public ByteBuf encodeDelta() {
+		this.buffer.clear();
+		this.delta.encode(this.buffer);
+		return this.buffer;
+	}
+
+	@Benchmark
+	public ByteBuf encodeBatch() {
+		this.buffer.clear();
+		this.batch.encode(this.buffer);
+		return this.buffer;
+	}
+
+	@Benchmark
+	public S2CSynchronizeOrigin decodeFull() {
+		this.encodedFull.readerIndex(0);
+		return S2CSynchronizeOrigin.decode(this.encodedFull);
+	}
+
+	@Benchmark
+	public S2CSynchronizeOriginDelta decodeDelta() {
+		this.encodedDelta.readerIndex(0);
+		return S2CSynchronizeOriginDelta.decode(this.encodedDelta);
+	}
+
+	@Benchmark
+	public S2CSynchronizeOriginBatch decodeBatch() {
+		this.encodedBatch.readerIndex(0);
+		return S2CSynchronizeOriginBatch.decode(this.encodedBatch);
+	}
+}
@@ -23,6 +23,14 @@ public interface Badge extends DataObject<Badge> {
 	@OnlyIn(Dist.CLIENT)
 	List<ClientTooltipComponent> getTooltipComponents(ConfiguredPower<?, ?> powerType, int widthLimit, float time, Font textRenderer);
 
+	/**
+	 * Screens reuse the tooltip components of a badge for as long as this value doesn't change.
+	 * Badges whose tooltip is animated must return a different value for every frame of the animation.
+	 */
+	default int getTooltipRevision(float time) {
+		return 0;
+	}
+
 	SerializableData.Instance toData(SerializableData.Instance instance);
 
 	BadgeFactory getBadgeFactory();
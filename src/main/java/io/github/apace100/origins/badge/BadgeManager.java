@@ -1,9 +1,9 @@
 package io.github.apace100.origins.badge;
 
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.google.gson.JsonElement;
 import io.github.apace100.apoli.integration.PowerLoadEvent;
 import io.github.apace100.calio.registry.DataObjectRegistry;
@@ -35,8 +35,11 @@ import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.network.PacketDistributor;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class BadgeManager {
 	public static final DataObjectRegistry<Badge> REGISTRY = new DataObjectRegistry.Builder<>(Origins.identifier("badge"), Badge.class)
@@ -44,7 +47,10 @@ public final class BadgeManager {
 			.dataErrorHandler((id, exception) -> Origins.LOGGER.error("Failed to read badge " + id + ", caused by", exception))
 			.defaultFactory(BadgeFactories.KEYBIND)
 			.buildAndRegister();
-	private static final Multimap<ResourceLocation, Badge> BADGES = HashMultimap.create();
+	//Badges of the data being loaded, published all at once when loading completes.
+	private static final Map<ResourceLocation, List<Badge>> BUILDER = new ConcurrentHashMap<>();
+	//Immutable table read by the render thread and packets, replaced atomically.
+	private static volatile Map<ResourceLocation, List<Badge>> BADGES = ImmutableMap.of();
 
 	private static final ResourceLocation TOGGLE_BADGE_SPRITE = Origins.identifier("textures/gui/badge/toggle.png");
 	private static final ResourceLocation ACTIVE_BADGE_SPRITE = Origins.identifier("textures/gui/badge/active.png");
@@ -58,6 +64,7 @@ public final class BadgeManager {
 		REGISTRY.setForgeRegistryAccess(OriginsBuiltinRegistries.BADGE_FACTORIES);
 		//register callbacks
 		MinecraftForge.EVENT_BUS.addListener((CalioDynamicRegistryEvent.Reload event) -> BadgeManager.clear());
+		MinecraftForge.EVENT_BUS.addListener((CalioDynamicRegistryEvent.LoadComplete event) -> BadgeManager.publish());
 		MinecraftForge.EVENT_BUS.addListener(BadgeManager::createAutoBadges);
 		//These events are fired on a non-standard priority to allow for better integration.
 		//Custom badges on HIGH, which means NORMAL will have the custom badges loaded.
@@ -71,20 +78,57 @@ public final class BadgeManager {
 		REGISTRY.registerFactory(factory.id(), factory);
 	}
 
+	/**
+	 * Adds a badge to the given power. Badges only become visible once the current load completes.
+	 */
 	public static void putPowerBadge(ResourceLocation powerId, Badge badge) {
-		BADGES.put(powerId, badge);
+		BUILDER.compute(powerId, (id, badges) -> {
+			if (badges == null)
+				badges = new ArrayList<>();
+			if (!badges.contains(badge))
+				badges.add(badge);
+			return badges;
+		});
 	}
 
+	/**
+	 * Returns the badges of the given power, in the order they were added.<br>
+	 * The returned list is immutable and shared, so this is safe to call every frame.
+	 */
 	public static List<Badge> getPowerBadges(ResourceLocation powerId) {
-		return ImmutableList.copyOf(BADGES.get(powerId));
+		return BADGES.getOrDefault(powerId, ImmutableList.of());
 	}
 
+	/**
+	 * Drops the badges being built, the published badges stay visible until the next load completes.
+	 */
 	public static void clear() {
-		BADGES.clear();
+		BUILDER.clear();
+	}
+
+	/**
+	 * Replaces the visible badges with the ones built since the last clear.
+	 */
+	public static void publish() {
+		ImmutableMap.Builder<ResourceLocation, List<Badge>> builder = ImmutableMap.builder();
+		BUILDER.forEach((id, badges) -> builder.put(id, ImmutableList.copyOf(badges)));
+		BADGES = builder.build();
+	}
+
+	/**
+	 * Replaces the visible badges with the given ones, typically the badges received from the server.
+	 */
+	public static void publish(Multimap<ResourceLocation, Badge> badges) {
+		//The builder is left alone, as it may be in use by an integrated server reloading its data.
+		ImmutableMap.Builder<ResourceLocation, List<Badge>> builder = ImmutableMap.builder();
+		badges.asMap().forEach((id, list) -> builder.put(id, ImmutableList.copyOf(list)));
+		BADGES = builder.build();
 	}
 
 	public static S2CSynchronizeBadges createPacket() {
-		return new S2CSynchronizeBadges(Multimaps.unmodifiableMultimap(BADGES));
+		ImmutableListMultimap.Builder<ResourceLocation, Badge> builder = ImmutableListMultimap.builder();
+		BADGES.forEach(builder::putAll);
+		return new S2CSynchronizeBadges(builder.build());
 	}
 
 	public static void sync(ServerPlayer player) {
@@ -132,7 +176,7 @@ public final class BadgeManager {
 	public static void readAutoBadges(PowerLoadEvent.Post event) {
 		ConfiguredPower<?, ?> powerType = event.getPower();
 		ResourceLocation powerId = event.getId();
-		if (BADGES.containsKey(powerId) || powerType.getData().hidden()) {
+		if (BUILDER.containsKey(powerId) || powerType.getData().hidden()) {
 			//FORGE: sub-powers are hidden no matter what.
 			// No auto-badges should be created if:
 			// - The power has custom badges defined in the data
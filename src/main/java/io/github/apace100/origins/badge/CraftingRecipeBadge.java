@@ -51,6 +51,12 @@ public record CraftingRecipeBadge(ResourceLocation spriteId,
 		return inputs;
 	}
 
+	@Override
+	public int getTooltipRevision(float time) {
+		//Matches the cycling of peekInputs.
+		return Mth.floor(time / 30);
+	}
+
 	@Override
 	@OnlyIn(Dist.CLIENT)
 	public List<ClientTooltipComponent> getTooltipComponents(ConfiguredPower<?, ?> powerType, int widthLimit, float time, Font textRenderer) {
@@ -6,6 +6,11 @@ import io.github.edwinmindcraft.origins.api.capabilities.IOriginContainer;
 import io.github.edwinmindcraft.origins.api.origin.Origin;
 import io.github.edwinmindcraft.origins.api.origin.OriginLayer;
 import io.github.edwinmindcraft.origins.common.OriginsCommon;
+import io.github.edwinmindcraft.origins.common.OriginsProfiler;
+import io.github.edwinmindcraft.origins.common.capabilities.OriginContainer;
+import io.github.edwinmindcraft.origins.common.capabilities.OriginHolderIndex;
+import io.github.edwinmindcraft.origins.common.capabilities.PowerReconciliationQueue;
+import io.github.edwinmindcraft.origins.common.network.OriginSyncScheduler;
 import io.github.edwinmindcraft.origins.common.network.S2COpenOriginScreen;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.arguments.EntityArgument;
@@ -57,8 +62,11 @@ public class OriginCommand {
 															Collection<ServerPlayer> targets = EntityArgument.getPlayers(command, "targets");
 															OriginLayer l = LayerArgumentType.getLayer(command, "layer");
 															Origin o = OriginArgumentType.getOrigin(command, "origin");
+															// Players that don't hold the origin in any layer can be skipped, except for the empty origin,
+															// which is also held by players that never had an origin set.
+															boolean filter = o.getRegistryName() != null && o != Origin.EMPTY;
 															for (ServerPlayer target : targets) {
-																if (hasOrigin(target, l, o)) {
+																if ((!filter || OriginHolderIndex.INSTANCE.holds(target, o.getRegistryName())) && hasOrigin(target, l, o)) {
 																	i++;
 																}
 															}
@@ -115,6 +123,37 @@ public class OriginCommand {
 												})
 										)
 								)
+						).then(literal("reconciliation")
+								.executes((command) -> {
+									// Reports the progress of the power updates that follow a reload.
+									PowerReconciliationQueue queue = PowerReconciliationQueue.INSTANCE;
+									if (queue.getTotal() == 0)
+										command.getSource().sendSuccess(new TranslatableComponent("commands.origin.reconciliation.idle"), false);
+									else
+										command.getSource().sendSuccess(new TranslatableComponent("commands.origin.reconciliation.progress", queue.getCompleted(), queue.getTotal(), queue.getPending(), queue.getElapsed()), false);
+									return queue.getPending();
+								})
+						).then(literal("perf")
+								.executes((command) -> {
+									// Dumps the timings recorded since the last reset, along with the counters of the caches.
+									CommandSourceStack source = command.getSource();
+									if (!OriginsProfiler.ENABLED)
+										source.sendSuccess(new TranslatableComponent("commands.origin.perf.disabled"), false);
+									else {
+										for (OriginsProfiler.Section section : OriginsProfiler.Section.values())
+											source.sendSuccess(new TranslatableComponent("commands.origin.perf.section", section.getName(), section.getCount(), section.getPercentile(0.5), section.getPercentile(0.99)), false);
+									}
+									source.sendSuccess(new TranslatableComponent("commands.origin.perf.completion", OriginContainer.getCompletionCacheHits(), OriginContainer.getCompletionCacheMisses()), false);
+									source.sendSuccess(new TranslatableComponent("commands.origin.perf.sync", OriginSyncScheduler.INSTANCE.getTotalPackets(), OriginSyncScheduler.INSTANCE.getTotalBytes(), OriginContainer.getSynchronizationResends(), OriginContainer.getSynchronizationsAbandoned(), OriginContainer.getOutstandingSynchronizations(source.getServer())), false);
+									return OriginsProfiler.ENABLED ? 1 : 0;
+								})
+								.then(literal("reset")
+										.executes((command) -> {
+											OriginsProfiler.reset();
+											command.getSource().sendSuccess(new TranslatableComponent("commands.origin.perf.reset"), true);
+											return 1;
+										})
+								)
 						)
 		);
 	}
@@ -1,7 +1,6 @@
 package io.github.apace100.origins.mixin;
 
-import io.github.apace100.origins.power.OriginsPowerTypes;
-import io.github.edwinmindcraft.apoli.api.component.IPowerContainer;
+import io.github.edwinmindcraft.origins.common.power.PowerPresence;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.block.entity.ConduitBlockEntity;
 import org.spongepowered.asm.mixin.Mixin;
@@ -13,6 +12,6 @@ public class ConduitOnLandMixin {
 
 	@Redirect(method = "applyEffects", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/player/Player;isInWaterOrRain()Z"))
 	private static boolean allowConduitPowerOnLand(Player playerEntity) {
-		return playerEntity.isInWaterOrRain() || IPowerContainer.hasPower(playerEntity, OriginsPowerTypes.CONDUIT_POWER_ON_LAND.get());
+		return playerEntity.isInWaterOrRain() || PowerPresence.has(playerEntity, PowerPresence.CONDUIT_POWER_ON_LAND);
 	}
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package io.github.apace100.origins.mixin;
 
-import io.github.apace100.origins.power.OriginsPowerTypes;
-import io.github.edwinmindcraft.apoli.api.component.IPowerContainer;
+import io.github.edwinmindcraft.origins.common.power.PowerPresence;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
@@ -21,11 +20,12 @@ public abstract class LikeWaterMixin extends Entity {
     @Redirect(method = "travel", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/LivingEntity;getFluidFallingAdjustedMovement(DZLnet/minecraft/world/phys/Vec3;)Lnet/minecraft/world/phys/Vec3;"))
     public Vec3 method_26317Proxy(LivingEntity entity, double d, boolean bl, Vec3 vec3d) {
         Vec3 oldReturn = entity.getFluidFallingAdjustedMovement(d, bl, vec3d);
-        if(IPowerContainer.hasPower(entity, OriginsPowerTypes.LIKE_WATER.get())) {
+        // Only players can hold the power, so mobs skip the lookup entirely.
+        if(PowerPresence.has(entity, PowerPresence.LIKE_WATER)) {
             if (Math.abs(vec3d.y - d / 16.0D) < 0.025D) {
                 return new Vec3(oldReturn.x, 0, oldReturn.z);
             }
         }
-        return entity.getFluidFallingAdjustedMovement(d, bl, vec3d);
+        return oldReturn;
     }
 }
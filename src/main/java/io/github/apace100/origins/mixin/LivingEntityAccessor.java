@@ -0,0 +1,15 @@
+package io.github.apace100.origins.mixin;
+
+import net.minecraft.world.entity.LivingEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(LivingEntity.class)
+public interface LivingEntityAccessor {
+
+	@Invoker("increaseAirSupply")
+	int callIncreaseAirSupply(int air);
+
+	@Invoker("decreaseAirSupply")
+	int callDecreaseAirSupply(int air);
+}
@@ -0,0 +1,30 @@
+package io.github.apace100.origins.mixin;
+
+import io.github.edwinmindcraft.origins.common.power.PowerPresence;
+import net.minecraft.world.entity.player.Player;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(Player.class)
+public abstract class PowerPresenceMixin implements PowerPresence.Holder {
+	@Unique
+	private int origins$powerPresence;
+	@Unique
+	private int origins$powerPresenceTick = Integer.MIN_VALUE;
+
+	@Override
+	public int origins$getPowerPresence() {
+		return this.origins$powerPresence;
+	}
+
+	@Override
+	public int origins$getPowerPresenceTick() {
+		return this.origins$powerPresenceTick;
+	}
+
+	@Override
+	public void origins$setPowerPresence(int presence, int tick) {
+		this.origins$powerPresence = presence;
+		this.origins$powerPresenceTick = tick;
+	}
+}
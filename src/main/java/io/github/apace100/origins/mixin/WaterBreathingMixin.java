@@ -1,7 +1,6 @@
 package io.github.apace100.origins.mixin;
 
-import io.github.apace100.origins.power.OriginsPowerTypes;
-import io.github.edwinmindcraft.apoli.api.component.IPowerContainer;
+import io.github.edwinmindcraft.origins.common.power.PowerPresence;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
@@ -26,7 +25,7 @@ public final class WaterBreathingMixin {
 
 		@Inject(at = @At("HEAD"), method = "canBreatheUnderwater", cancellable = true)
 		public void doWaterBreathing(CallbackInfoReturnable<Boolean> info) {
-			if (IPowerContainer.hasPower(this, OriginsPowerTypes.WATER_BREATHING.get()))
+			if (PowerPresence.has(this, PowerPresence.WATER_BREATHING))
 				info.setReturnValue(true);
 		}
 	}
@@ -41,7 +40,7 @@ public final class WaterBreathingMixin {
 		@Redirect(at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/player/Player;isEyeInFluid(Lnet/minecraft/tags/TagKey;)Z"), method = "turtleHelmetTick")
 		public boolean isSubmergedInProxy(Player player, TagKey<Fluid> fluidTag) {
 			boolean submerged = this.isEyeInFluid(fluidTag);
-			return IPowerContainer.hasPower(this, OriginsPowerTypes.WATER_BREATHING.get()) != submerged;
+			return PowerPresence.has(this, PowerPresence.WATER_BREATHING) != submerged;
 		}
 	}
 }
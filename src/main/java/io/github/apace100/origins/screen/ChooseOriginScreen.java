@@ -21,7 +21,6 @@ import net.minecraft.network.chat.TranslatableComponent;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraftforge.network.PacketDistributor;
 import org.jetbrains.annotations.NotNull;
 
@@ -52,15 +51,8 @@ public class ChooseOriginScreen extends OriginDisplayScreen {
 		Registry<Origin> originsRegistry = OriginsAPI.getOriginsRegistry();
 		currentLayer.origins(Objects.requireNonNull(player)).forEach(originId -> {
 			Origin origin = originsRegistry.get(originId);
-			if (origin != null && origin.isChoosable()) {
-				ItemStack displayItem = origin.getIcon().copy();
-				if (displayItem.getItem() == Items.PLAYER_HEAD) {
-					if (!displayItem.hasTag() || !Objects.requireNonNull(displayItem.getTag()).contains("SkullOwner")) {
-						displayItem.getOrCreateTag().putString("SkullOwner", player.getDisplayName().getString());
-					}
-				}
+			if (origin != null && origin.isChoosable())
 				this.originSelection.add(origin);
-			}
 		});
 		this.originSelection.sort(COMPARATOR);
 		this.maxSelection = this.originSelection.size();
@@ -27,10 +27,13 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.FormattedCharSequence;
 import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public class OriginDisplayScreen extends Screen {
 
@@ -51,7 +54,13 @@ public class OriginDisplayScreen extends Screen {
 
 	protected final boolean showDirtBackground;
 
-    private final LinkedList<RenderedBadge> renderedBadges = new LinkedList<>();
+	//Badges of the visible powers, sorted top to bottom, placed again only when the content moves.
+	private final List<RenderedBadge> renderedBadges = new ArrayList<>();
+	@Nullable
+	private OriginLayout placedLayout;
+	private int placedX, placedY;
+	//Split text and badges of the displayed origins, computed once per width and language instead of every frame.
+	private final Map<LayoutKey, OriginLayout> layouts = new HashMap<>();
 
 	public OriginDisplayScreen(Component title, boolean showDirtBackground) {
 		super(title);
@@ -64,10 +73,12 @@ public class OriginDisplayScreen extends Screen {
 		this.isOriginRandom = isRandom;
 		this.scrollPos = 0;
         this.time = 0;
+		this.placedLayout = null;
 	}
 
 	public void setRandomOriginText(Component text) {
 		this.randomOriginText = text;
+		this.layouts.clear();
 	}
 
 	@Override
@@ -96,7 +107,6 @@ public class OriginDisplayScreen extends Screen {
 
 	@Override
 	public void render(@NotNull PoseStack matrices, int mouseX, int mouseY, float delta) {
-		this.renderedBadges.clear();
         this.time += delta;
 		this.renderBackground(matrices);
 		this.renderOriginWindow(matrices, mouseX, mouseY);
@@ -173,18 +183,36 @@ public class OriginDisplayScreen extends Screen {
 		return super.mouseDragged(mouseX, mouseY, button, deltaX, deltaY);
 	}
 
-    private void renderBadgeTooltip(PoseStack matrices, int mouseX, int mouseY) {
-        for(RenderedBadge rb : this.renderedBadges) {
-            if(mouseX >= rb.x &&
-               mouseX < rb.x + 9 &&
-               mouseY >= rb.y &&
-               mouseY < rb.y + 9 &&
-               rb.hasTooltip()) {
-                int widthLimit = this.width - mouseX - 24;
-                ((ScreenAccessor)this).invokeRenderTooltipFromComponents(matrices, rb.getTooltipComponents(this.font, widthLimit), mouseX, mouseY);
-            }
-        }
-    }
+	private void renderBadgeTooltip(PoseStack matrices, int mouseX, int mouseY) {
+		RenderedBadge rb = this.findBadge(mouseX, mouseY);
+		if (rb != null && rb.hasTooltip()) {
+			//Uses the right edge of the badge rather than the cursor, so the limit doesn't change while hovering it.
+			int widthLimit = this.width - (rb.x + 8) - 24;
+			((ScreenAccessor) this).invokeRenderTooltipFromComponents(matrices, rb.getTooltipComponents(this.font, widthLimit), mouseX, mouseY);
+		}
+	}
+
+	@Nullable
+	private RenderedBadge findBadge(int mouseX, int mouseY) {
+		//Finds the first badge whose bottom is below the cursor, only badges of that row may be hovered.
+		int low = 0;
+		int high = this.renderedBadges.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (this.renderedBadges.get(mid).y + 9 <= mouseY)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		for (int i = low; i < this.renderedBadges.size(); i++) {
+			RenderedBadge rb = this.renderedBadges.get(i);
+			if (rb.y > mouseY)
+				break;
+			if (mouseX >= rb.x && mouseX < rb.x + 9)
+				return rb;
+		}
+		return null;
+	}
 
 	protected Component getTitleText() {
 		return new TextComponent("Origins");
@@ -271,9 +299,16 @@ public class OriginDisplayScreen extends Screen {
 		int endY = y - 72 + windowHeight;
 		y -= this.scrollPos;
 
-		Component orgDesc = origin.getDescription();
-		List<FormattedCharSequence> descLines = this.font.split(orgDesc, textWidth);
-		for (FormattedCharSequence line : descLines) {
+		String language = Objects.requireNonNull(this.minecraft).getLanguageManager().getSelected().getCode();
+		OriginLayout layout = this.layouts.computeIfAbsent(new LayoutKey(origin, this.isOriginRandom, textWidth, language), this::createLayout);
+		boolean place = layout != this.placedLayout || x != this.placedX || y != this.placedY;
+		if (place) {
+			this.renderedBadges.clear();
+			this.placedLayout = layout;
+			this.placedX = x;
+			this.placedY = y;
+		}
+		for (FormattedCharSequence line : layout.description()) {
 			if (y >= startY - 18 && y <= endY + 12) {
 				this.font.draw(matrices, line, x + 2, y - 6, 0xCCCCCC);
 			}
@@ -281,8 +316,7 @@ public class OriginDisplayScreen extends Screen {
 		}
 
 		if (this.isOriginRandom) {
-			List<FormattedCharSequence> drawLines = this.font.split(this.randomOriginText, textWidth);
-			for (FormattedCharSequence line : drawLines) {
+			for (FormattedCharSequence line : layout.randomText()) {
 				y += 12;
 				if (y >= startY - 24 && y <= endY + 12) {
 					this.font.draw(matrices, line, x + 2, y, 0xCCCCCC);
@@ -290,30 +324,20 @@ public class OriginDisplayScreen extends Screen {
 			}
 			y += 14;
 		} else {
-			Registry<ConfiguredPower<?, ?>> powers = ApoliAPI.getPowers();
-			for (ResourceLocation id : origin.getPowers()) {
-				ConfiguredPower<?, ?> p = powers.get(id);
-				if (p == null || p.getData().hidden()) {
-					continue;
-				}
-				FormattedCharSequence name = Language.getInstance().getVisualOrder(this.font.substrByWidth(p.getData().getName().withStyle(ChatFormatting.UNDERLINE), textWidth));
-				Component desc = p.getData().getDescription();
-				List<FormattedCharSequence> drawLines = this.font.split(desc, textWidth);
+			for (PowerLayout power : layout.powers()) {
 				if (y >= startY - 24 && y <= endY + 12) {
-					this.font.draw(matrices, name, x, y, 0xFFFFFF);
-					int tw = this.font.width(name);
-					Collection<Badge> badges = BadgeManager.getPowerBadges(id);
-					int xStart = x + tw + 4;
+					this.font.draw(matrices, power.name(), x, y, 0xFFFFFF);
+					int xStart = x + power.nameWidth() + 4;
 					int bi = 0;
-                    for(Badge badge : badges) {
-                        RenderedBadge renderedBadge = new RenderedBadge(p, badge,xStart + 10 * bi, y - 1);
-                        this.renderedBadges.add(renderedBadge);
+                    for(Badge badge : power.badges()) {
+                        if (place)
+                            this.renderedBadges.add(new RenderedBadge(power.power(), badge, xStart + 10 * bi, y - 1));
                         RenderSystem.setShaderTexture(0, badge.spriteId());
                         blit(matrices, xStart + 10 * bi, y - 1, 0, 0, 9, 9, 9, 9);
                         bi++;
                     }
 				}
-				for (FormattedCharSequence line : drawLines) {
+				for (FormattedCharSequence line : power.description()) {
 					y += 12;
 					if (y >= startY - 24 && y <= endY + 12) {
 						this.font.draw(matrices, line, x + 2, y, 0xCCCCCC);
@@ -330,27 +354,63 @@ public class OriginDisplayScreen extends Screen {
 		}
 	}
 
-    private class RenderedBadge {
-        private final ConfiguredPower<?, ?> powerType;
-        private final Badge badge;
-        private final int x;
-        private final int y;
-
-        public RenderedBadge(ConfiguredPower<?, ?> powerType, Badge badge, int x, int y) {
-            this.powerType = powerType;
-            this.badge = badge;
-            this.x = x;
-            this.y = y;
-        }
-
-        public boolean hasTooltip() {
-            return this.badge.hasTooltip();
-        }
+	private OriginLayout createLayout(LayoutKey key) {
+		List<FormattedCharSequence> description = this.font.split(key.origin().getDescription(), key.width());
+		if (key.random())
+			return new OriginLayout(description, this.font.split(this.randomOriginText, key.width()), List.of());
+		Registry<ConfiguredPower<?, ?>> powers = ApoliAPI.getPowers();
+		List<PowerLayout> layouts = new ArrayList<>();
+		for (ResourceLocation id : key.origin().getPowers()) {
+			ConfiguredPower<?, ?> p = powers.get(id);
+			if (p == null || p.getData().hidden()) {
+				continue;
+			}
+			FormattedCharSequence name = Language.getInstance().getVisualOrder(this.font.substrByWidth(p.getData().getName().withStyle(ChatFormatting.UNDERLINE), key.width()));
+			layouts.add(new PowerLayout(p, name, this.font.width(name), BadgeManager.getPowerBadges(id), this.font.split(p.getData().getDescription(), key.width())));
+		}
+		return new OriginLayout(description, List.of(), layouts);
+	}
 
-        public List<ClientTooltipComponent> getTooltipComponents(Font textRenderer, int widthLimit) {
-            return this.badge.getTooltipComponents(this.powerType, widthLimit, OriginDisplayScreen.this.time, textRenderer);
-        }
+	private record LayoutKey(Origin origin, boolean random, int width, String language) {}
+
+	private record PowerLayout(ConfiguredPower<?, ?> power, FormattedCharSequence name, int nameWidth, List<Badge> badges, List<FormattedCharSequence> description) {}
+
+	private record OriginLayout(List<FormattedCharSequence> description, List<FormattedCharSequence> randomText, List<PowerLayout> powers) {}
+
+	private class RenderedBadge {
+		private final ConfiguredPower<?, ?> powerType;
+		private final Badge badge;
+		private final int x;
+		private final int y;
+		//Last tooltip, reused while neither the width, the revision of the badge nor advanced tooltips change.
+		@Nullable
+		private List<ClientTooltipComponent> tooltip;
+		private int tooltipWidth;
+		private int tooltipRevision;
+		private boolean tooltipAdvanced;
+
+		public RenderedBadge(ConfiguredPower<?, ?> powerType, Badge badge, int x, int y) {
+			this.powerType = powerType;
+			this.badge = badge;
+			this.x = x;
+			this.y = y;
+		}
 
-    }
+		public boolean hasTooltip() {
+			return this.badge.hasTooltip();
+		}
 
+		public List<ClientTooltipComponent> getTooltipComponents(Font textRenderer, int widthLimit) {
+			float time = OriginDisplayScreen.this.time;
+			int revision = this.badge.getTooltipRevision(time);
+			boolean advanced = OriginDisplayScreen.this.minecraft != null && OriginDisplayScreen.this.minecraft.options.advancedItemTooltips;
+			if (this.tooltip == null || this.tooltipWidth != widthLimit || this.tooltipRevision != revision || this.tooltipAdvanced != advanced) {
+				this.tooltip = this.badge.getTooltipComponents(this.powerType, widthLimit, time, textRenderer);
+				this.tooltipWidth = widthLimit;
+				this.tooltipRevision = revision;
+				this.tooltipAdvanced = advanced;
+			}
+			return this.tooltip;
+		}
+	}
 }
@@ -4,7 +4,10 @@ import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
 import io.github.apace100.origins.registry.ModLoot;
+import io.github.edwinmindcraft.origins.api.OriginsAPI;
 import io.github.edwinmindcraft.origins.api.capabilities.IOriginContainer;
+import io.github.edwinmindcraft.origins.api.origin.OriginLayer;
+import io.github.edwinmindcraft.origins.common.capabilities.OriginHolderIndex;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.GsonHelper;
 import net.minecraft.world.entity.Entity;
@@ -36,10 +39,12 @@ public class OriginLootCondition implements LootItemCondition {
 	public boolean test(LootContext lootContext) {
 		Entity entity = lootContext.getParamOrNull(LootContextParams.THIS_ENTITY);
 		if (entity == null) return false;
-		return IOriginContainer.get(entity)
-				.map(container -> container
-						.getOrigins().entrySet().stream()
-						.anyMatch(entry -> (this.layer == null || this.layer.equals(entry.getKey().getRegistryName())) && this.origin.equals(entry.getValue().getRegistryName()))).orElse(false);
+		if (!OriginHolderIndex.INSTANCE.holds(entity, this.origin))
+			return false;
+		if (this.layer == null)
+			return true;
+		OriginLayer layer = OriginsAPI.getLayersRegistry().get(this.layer);
+		return layer != null && IOriginContainer.get(entity).map(container -> this.origin.equals(container.getOrigin(layer).getRegistryName())).orElse(false);
 	}
 
 	public static LootItemCondition.Builder builder(String originId) {
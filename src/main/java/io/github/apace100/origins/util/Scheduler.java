@@ -1,11 +1,11 @@
 package io.github.apace100.origins.util;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import io.github.edwinmindcraft.origins.common.OriginsConfigs;
 import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.server.ServerLifecycleHooks;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,29 +39,138 @@ import java.util.function.IntPredicate;
  * For more information, please refer to <<a href="http://unlicense.org/">http://unlicense.org/</a>>
  */
 public class Scheduler {
-	private final Int2ObjectMap<List<Consumer<MinecraftServer>>> taskQueue = new Int2ObjectOpenHashMap<>();
-	private int currentTick = 0;
+	//Hierarchical timing wheel: 256 slots of one tick, then levels of 64 slots each spanning 64 times the previous level.
+	private static final int ROOT_BITS = 8;
+	private static final int LEVEL_BITS = 6;
+	private static final int LEVELS = 4;
+	private static final int ROOT_MASK = (1 << ROOT_BITS) - 1;
+	private static final int LEVEL_MASK = (1 << LEVEL_BITS) - 1;
+
+	private final Slot[][] wheel = new Slot[LEVELS][];
+	//Tasks that are due but weren't run yet, because the budget of their tick was spent.
+	private final Slot ready = new Slot();
+	private long currentTick = 0;
+	private int pending;
+
+	private int lastExecuted;
+	private long lastNanos;
+	private long totalExecuted;
+	private long overrunTicks;
 
 	public Scheduler() {
+		for (int level = 0; level < LEVELS; level++) {
+			Slot[] slots = new Slot[level == 0 ? ROOT_MASK + 1 : LEVEL_MASK + 1];
+			for (int i = 0; i < slots.length; i++)
+				slots[i] = new Slot();
+			this.wheel[level] = slots;
+		}
 		MinecraftForge.EVENT_BUS.addListener((TickEvent.ServerTickEvent event) -> {
 			if (event.phase != TickEvent.Phase.END)
 				return;
 			MinecraftServer m = ServerLifecycleHooks.getCurrentServer();
-			this.currentTick = m.getTickCount();
-			List<Consumer<MinecraftServer>> runnables = this.taskQueue.remove(this.currentTick);
-			if (runnables != null) {
-				for (Consumer<MinecraftServer> runnable : runnables) {
-					runnable.accept(m);
-
-					if (runnable instanceof Repeating repeating) {// reschedule repeating tasks
-						if (repeating.shouldQueue(this.currentTick))
-							this.queue(runnable, repeating.next);
-					}
-				}
-			}
+			this.advance(m.getTickCount());
+			this.run(m);
 		});
 	}
 
+	private static int shift(int level) {
+		return ROOT_BITS + LEVEL_BITS * (level - 1);
+	}
+
+	/**
+	 * Moves the wheel up to the given tick, collecting every task that became due.<br>
+	 * Every tick is visited, so tasks aren't lost if the server skips ticks.
+	 */
+	private void advance(long target) {
+		//A new server started, keep the remaining delay of every task.
+		if (target < this.currentTick)
+			this.rebase(target);
+		while (this.currentTick < target) {
+			long tick = ++this.currentTick;
+			if ((tick & ROOT_MASK) == 0) {
+				//Higher levels first, so that their tasks can land in the lower slots visited next.
+				int level = 1;
+				while (level < LEVELS - 1 && ((tick >> shift(level)) & LEVEL_MASK) == 0)
+					level++;
+				for (; level >= 1; level--)
+					this.cascade(this.wheel[level][(int) ((tick >> shift(level)) & LEVEL_MASK)]);
+			}
+			Slot slot = this.wheel[0][(int) (tick & ROOT_MASK)];
+			for (Task task = slot.poll(); task != null; task = slot.poll())
+				this.ready.add(task);
+		}
+	}
+
+	private void cascade(Slot slot) {
+		for (Task task = slot.poll(); task != null; task = slot.poll())
+			this.insert(task);
+	}
+
+	private void rebase(long target) {
+		List<Task> tasks = new ArrayList<>(this.pending);
+		for (Slot[] level : this.wheel) {
+			for (Slot slot : level) {
+				for (Task task = slot.poll(); task != null; task = slot.poll())
+					tasks.add(task);
+			}
+		}
+		for (Task task : tasks)
+			task.deadline = target + Math.max(1, task.deadline - this.currentTick);
+		this.currentTick = target;
+		tasks.forEach(this::insert);
+	}
+
+	private void insert(Task task) {
+		long delta = task.deadline - this.currentTick;
+		if (delta <= 0) {
+			this.ready.add(task);
+			return;
+		}
+		if (delta <= ROOT_MASK) {
+			this.wheel[0][(int) (task.deadline & ROOT_MASK)].add(task);
+			return;
+		}
+		int level = 1;
+		while (level < LEVELS - 1 && delta >= 1L << shift(level + 1))
+			level++;
+		long position = task.deadline;
+		//Tasks beyond the last level wait in its farthest slot, and are placed again when it cascades.
+		if (delta >= 1L << shift(LEVELS))
+			position = this.currentTick + (1L << shift(LEVELS)) - 1;
+		this.wheel[level][(int) ((position >> shift(level)) & LEVEL_MASK)].add(task);
+	}
+
+	private void run(MinecraftServer server) {
+		long budget = OriginsConfigs.SERVER_SPECS.isLoaded() ? OriginsConfigs.SERVER.schedulerBudget() * 1000L : 0;
+		long start = System.nanoTime();
+		int executed = 0;
+		for (Task task = this.ready.poll(); task != null; task = this.ready.poll()) {
+			this.pending--;
+			task.action.accept(server);
+			executed++;
+			if (task.interval >= 0 && !task.cancelled && (task.requeue == null || task.requeue.test((int) this.currentTick))) {
+				task.deadline = this.currentTick + task.interval + 1;
+				this.pending++;
+				this.insert(task);
+			}
+			if (budget > 0 && System.nanoTime() - start >= budget)
+				break;
+		}
+		if (!this.ready.isEmpty())
+			this.overrunTicks++;
+		this.lastExecuted = executed;
+		this.lastNanos = System.nanoTime() - start;
+		this.totalExecuted += executed;
+	}
+
+	private Task schedule(Consumer<MinecraftServer> action, @Nullable IntPredicate requeue, int tick, int interval) {
+		Task task = new Task(this, action, requeue, interval);
+		task.deadline = this.currentTick + tick + 1;
+		this.pending++;
+		this.insert(task);
+		return task;
+	}
+
 	/**
 	 * queue a one time task to be executed on the server thread
 	 *
@@ -69,7 +178,19 @@ public class Scheduler {
 	 * @param task the action to perform
 	 */
 	public void queue(Consumer<MinecraftServer> task, int tick) {
-		this.taskQueue.computeIfAbsent(this.currentTick + tick + 1, t -> new ArrayList<>()).add(task);
+		this.schedule(task, tick);
+	}
+
+	/**
+	 * queue a one time task to be executed on the server thread
+	 *
+	 * @param tick how many ticks in the future this should be called, where 0 means at the end of the current tick
+	 * @param task the action to perform
+	 *
+	 * @return a handle that can be used to cancel the task
+	 */
+	public Task schedule(Consumer<MinecraftServer> task, int tick) {
+		return this.schedule(task, null, tick, -1);
 	}
 
 	/**
@@ -92,7 +213,21 @@ public class Scheduler {
 	 * @param interval the number of ticks in between each execution
 	 */
 	public void repeatWhile(Consumer<MinecraftServer> task, IntPredicate requeue, int tick, int interval) {
-		this.queue(new Repeating(task, requeue, interval), tick);
+		this.scheduleRepeating(task, requeue, tick, interval);
+	}
+
+	/**
+	 * repeat the given task until the predicate returns false, or the task is cancelled
+	 *
+	 * @param task     the action to perform
+	 * @param requeue  whether to reschedule the task again, with the parameter being the current tick, or {@code null} to repeat infinitely
+	 * @param tick     how many ticks in the future this event should first be called
+	 * @param interval the number of ticks in between each execution
+	 *
+	 * @return a handle that can be used to cancel the task
+	 */
+	public Task scheduleRepeating(Consumer<MinecraftServer> task, @Nullable IntPredicate requeue, int tick, int interval) {
+		return this.schedule(task, requeue, tick, Math.max(0, interval));
 	}
 
 	/**
@@ -114,27 +249,136 @@ public class Scheduler {
 		}, tick, interval);
 	}
 
-	private static final class Repeating implements Consumer<MinecraftServer> {
-		private final Consumer<MinecraftServer> task;
+	/**
+	 * The amount of tasks waiting to be run, including the ones carried over from previous ticks.
+	 */
+	public int getPending() {
+		return this.pending;
+	}
+
+	/**
+	 * The amount of due tasks that were carried over because the budget of the last tick was spent.
+	 */
+	public int getBacklog() {
+		return this.ready.size;
+	}
+
+	public int getLastTickExecuted() {
+		return this.lastExecuted;
+	}
+
+	public long getLastTickNanos() {
+		return this.lastNanos;
+	}
+
+	public long getTotalExecuted() {
+		return this.totalExecuted;
+	}
+
+	/**
+	 * The amount of ticks that ended with due tasks left over.
+	 */
+	public long getOverrunTicks() {
+		return this.overrunTicks;
+	}
+
+	/**
+	 * A scheduled task, which can be cancelled until it runs for the last time.
+	 */
+	public static final class Task {
+		private final Scheduler scheduler;
+		private final Consumer<MinecraftServer> action;
+		@Nullable
 		private final IntPredicate requeue;
-		public final int next;
+		//Ticks between two executions, or -1 for tasks that only run once.
+		private final int interval;
+		private long deadline;
+		private boolean cancelled;
+
+		//Intrusive links of the slot holding this task, which makes insertion and cancellation constant time.
+		@Nullable
+		private Slot slot;
+		@Nullable
+		private Task previous;
+		@Nullable
+		private Task next;
 
-		private Repeating(Consumer<MinecraftServer> task, IntPredicate requeue, int interval) {
-			this.task = task;
+		private Task(Scheduler scheduler, Consumer<MinecraftServer> action, @Nullable IntPredicate requeue, int interval) {
+			this.scheduler = scheduler;
+			this.action = action;
 			this.requeue = requeue;
-			this.next = interval;
+			this.interval = interval;
+		}
+
+		/**
+		 * Prevents any further execution of this task. Tasks may cancel themselves while running.
+		 */
+		public void cancel() {
+			if (this.cancelled)
+				return;
+			this.cancelled = true;
+			if (this.slot != null) {
+				this.slot.remove(this);
+				this.scheduler.pending--;
+			}
+		}
+
+		public boolean isCancelled() {
+			return this.cancelled;
+		}
+
+		/**
+		 * Checks if this task will run again.
+		 */
+		public boolean isScheduled() {
+			return this.slot != null;
 		}
+	}
+
+	private static final class Slot {
+		@Nullable
+		private Task head;
+		@Nullable
+		private Task tail;
+		private int size;
 
-		public boolean shouldQueue(int predicate) {
-			if (this.requeue == null)
-				return true;
-			return this.requeue.test(predicate);
+		private void add(Task task) {
+			task.slot = this;
+			task.previous = this.tail;
+			task.next = null;
+			if (this.tail == null)
+				this.head = task;
+			else
+				this.tail.next = task;
+			this.tail = task;
+			this.size++;
 		}
 
+		private void remove(Task task) {
+			if (task.previous == null)
+				this.head = task.next;
+			else
+				task.previous.next = task.next;
+			if (task.next == null)
+				this.tail = task.previous;
+			else
+				task.next.previous = task.previous;
+			task.slot = null;
+			task.previous = null;
+			task.next = null;
+			this.size--;
+		}
+
+		@Nullable
+		private Task poll() {
+			Task task = this.head;
+			if (task != null)
+				this.remove(task);
+			return task;
+		}
 
-		@Override
-		public void accept(MinecraftServer server) {
-			this.task.accept(server);
+		private boolean isEmpty() {
+			return this.head == null;
 		}
 	}
 }
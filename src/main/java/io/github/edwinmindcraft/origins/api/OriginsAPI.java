@@ -2,6 +2,7 @@ package io.github.edwinmindcraft.origins.api;
 
 import io.github.edwinmindcraft.calio.api.CalioAPI;
 import io.github.edwinmindcraft.origins.api.capabilities.IOriginContainer;
+import io.github.edwinmindcraft.origins.api.origin.LayerSnapshot;
 import io.github.edwinmindcraft.origins.api.origin.Origin;
 import io.github.edwinmindcraft.origins.api.origin.OriginLayer;
 import io.github.edwinmindcraft.origins.api.registry.OriginsDynamicRegistries;
@@ -12,12 +13,24 @@ import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityManager;
 import net.minecraftforge.common.capabilities.CapabilityToken;
 import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class OriginsAPI {
 	private static final ConcurrentHashMap<ResourceLocation, ResourceLocation> POWER_SOURCE_CACHE = new ConcurrentHashMap<>();
+	private static final AtomicInteger LAYER_GENERATION = new AtomicInteger();
+	//Snapshots per registry, as the client and the integrated server each have their own.
+	private static final Map<Registry<OriginLayer>, LayerSnapshotEntry> LAYER_SNAPSHOTS = new WeakHashMap<>();
+	//Incremented on reload, entries of an older epoch are checked against their registry again.
+	private static volatile int layerEpoch;
+	@Nullable
+	private static volatile LayerSnapshotEntry lastLayerSnapshot;
 	public static final String MODID = "origins";
 
 	public static final Capability<IOriginContainer> ORIGIN_CONTAINER = CapabilityManager.get(new CapabilityToken<>() {});
@@ -38,21 +51,73 @@ public class OriginsAPI {
 		return CalioAPI.getDynamicRegistries().get(OriginsDynamicRegistries.LAYERS_REGISTRY);
 	}
 
+	/**
+	 * Returns the enabled layers, sorted by order.<br>
+	 * The returned list is immutable and shared, so this is safe to call on hot paths.
+	 */
 	public static List<OriginLayer> getActiveLayers() {
-		return getLayersRegistry().stream().filter(OriginLayer::enabled).sorted().toList();
+		return getLayerSnapshot().activeLayers();
 	}
 
+	/**
+	 * Returns the current snapshot of the layers registry.<br>
+	 * Snapshots are kept per registry, and only get a new generation when the layers of that registry change.
+	 */
+	public static LayerSnapshot getLayerSnapshot() {
+		Registry<OriginLayer> registry = getLayersRegistry();
+		int epoch = layerEpoch;
+		LayerSnapshotEntry entry = lastLayerSnapshot;
+		if (entry == null || !entry.snapshot().isFor(registry) || entry.epoch() != epoch) {
+			synchronized (LAYER_SNAPSHOTS) {
+				entry = LAYER_SNAPSHOTS.get(registry);
+				if (entry == null || entry.epoch() != epoch) {
+					entry = new LayerSnapshotEntry(LayerSnapshot.create(registry, entry == null ? null : entry.snapshot(), LAYER_GENERATION::incrementAndGet), epoch);
+					LAYER_SNAPSHOTS.put(registry, entry);
+				}
+			}
+			lastLayerSnapshot = entry;
+		}
+		return entry.snapshot();
+	}
+
+	/**
+	 * Marks every snapshot as outdated, or rebuilds the snapshot of the given registry.
+	 */
+	@ApiStatus.Internal
+	public static void rebuildLayerSnapshot(@Nullable Registry<OriginLayer> registry) {
+		synchronized (LAYER_SNAPSHOTS) {
+			int epoch = ++layerEpoch;
+			if (registry != null) {
+				LayerSnapshotEntry previous = LAYER_SNAPSHOTS.get(registry);
+				LAYER_SNAPSHOTS.put(registry, new LayerSnapshotEntry(LayerSnapshot.create(registry, previous == null ? null : previous.snapshot(), LAYER_GENERATION::incrementAndGet), epoch));
+			}
+		}
+	}
+
+	private record LayerSnapshotEntry(LayerSnapshot snapshot, int epoch) {}
+
+	/**
+	 * Returns the source of the powers granted by the given origin.<br>
+	 * The source is stored on the origin, so this doesn't involve any lookup past the first call.
+	 */
 	public static ResourceLocation getPowerSource(Origin origin) {
-		var registryName = origin.getRegistryName();
-		Validate.notNull(registryName, "Unregistered origins cannot provide powers.");
-		return POWER_SOURCE_CACHE.computeIfAbsent(registryName, OriginsAPI::createPowerSource);
+		return origin.getPowerSource();
 	}
 
+	/**
+	 * Returns the source of the powers granted by the origin of the given name.<br>
+	 * Sources are cached until the next reload.
+	 */
 	public static ResourceLocation getPowerSource(ResourceLocation origin) {
 		Validate.notNull(origin, "Unregistered origins cannot provide powers.");
 		return POWER_SOURCE_CACHE.computeIfAbsent(origin, OriginsAPI::createPowerSource);
 	}
 
+	@ApiStatus.Internal
+	public static void clearPowerSourceCache() {
+		POWER_SOURCE_CACHE.clear();
+	}
+
 	private static ResourceLocation createPowerSource(ResourceLocation key) {
 		//Fabric command compat.
 		//If this were up to me, the power source would've been <namespace>:origins/<path>
@@ -14,6 +14,7 @@ import net.minecraftforge.common.util.INBTSerializable;
 import net.minecraftforge.common.util.LazyOptional;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Map;
 
 public interface IOriginContainer extends INBTSerializable<Tag> {
@@ -60,9 +61,14 @@ public interface IOriginContainer extends INBTSerializable<Tag> {
 	 * @return {@code false} if any layer is empty, {@code true otherwise}.
 	 */
 	default boolean hasAllOrigins() {
-		return OriginsAPI.getActiveLayers().stream()
-				.filter(x -> !x.empty(this.getOwner())) //Check if the player is eligible to at least one origin.
-				.allMatch(this::hasOrigin);
+		List<OriginLayer> layers = OriginsAPI.getActiveLayers();
+		for (int i = 0; i < layers.size(); i++) {
+			OriginLayer layer = layers.get(i);
+			//Check if the player is eligible to at least one origin.
+			if (!this.hasOrigin(layer) && !layer.empty(this.getOwner()))
+				return false;
+		}
+		return true;
 	}
 
 	/**
@@ -32,7 +32,8 @@ public record PartialOrigin(@NotNull Set<ResourceLocation> powers,
 	public Origin create(ResourceLocation name) {
 		return new Origin(
 				ImmutableSet.copyOf(this.powers()),
-				this.icon() != null ? this.icon() : ItemStack.EMPTY,
+				//Partials are cached across reloads, so every origin gets its own copy of the mutable icon.
+				this.icon() != null ? this.icon().copy() : ItemStack.EMPTY,
 				this.unchoosable() != null ? this.unchoosable() : false,
 				this.order() != null ? this.order() : Integer.MAX_VALUE,
 				this.impact() != null ? this.impact() : Impact.NONE,
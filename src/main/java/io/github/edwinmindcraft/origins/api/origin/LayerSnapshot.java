@@ -0,0 +1,144 @@
+package io.github.edwinmindcraft.origins.api.origin;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * An immutable view of the layers registry, built once per registry generation.<br>
+ * Every layer is given an ordinal, which is its position once sorted by {@link OriginLayer#order()}.
+ * Ordinals are only meaningful for the snapshot that produced them, see {@link #generation()}.
+ */
+public final class LayerSnapshot {
+	public static final LayerSnapshot EMPTY = new LayerSnapshot(0, null, new OriginLayer[0]);
+
+	/**
+	 * Builds a snapshot of the given registry.
+	 *
+	 * @param registry   The registry to read the layers from.
+	 * @param generation The generation of the new snapshot.
+	 *
+	 * @return A new snapshot containing every layer of the registry.
+	 */
+	public static LayerSnapshot create(@NotNull Registry<OriginLayer> registry, int generation) {
+		return new LayerSnapshot(generation, registry, registry.stream().sorted().toArray(OriginLayer[]::new));
+	}
+
+	/**
+	 * Builds a snapshot of the given registry, keeping the generation of the previous snapshot
+	 * if it holds the exact same layers.
+	 *
+	 * @param registry   The registry to read the layers from.
+	 * @param previous   The previous snapshot of the same registry, if any.
+	 * @param generation Supplies the generation of the new snapshot if the layers changed.
+	 *
+	 * @return A snapshot containing every layer of the registry.
+	 */
+	public static LayerSnapshot create(@NotNull Registry<OriginLayer> registry, @Nullable LayerSnapshot previous, @NotNull IntSupplier generation) {
+		OriginLayer[] layers = registry.stream().sorted().toArray(OriginLayer[]::new);
+		if (previous != null && previous.layers.length == layers.length) {
+			boolean same = true;
+			//Layers compare by name, but a reloaded layer with the same name may have different conditions.
+			for (int i = 0; i < layers.length && same; i++)
+				same = previous.layers[i] == layers[i];
+			if (same)
+				return new LayerSnapshot(previous.generation, registry, layers);
+		}
+		return new LayerSnapshot(generation.getAsInt(), registry, layers);
+	}
+
+	private final int generation;
+	//Weak, as snapshots are cached per registry and must not keep discarded registries alive.
+	private final @Nullable WeakReference<Registry<OriginLayer>> source;
+	private final OriginLayer[] layers;
+	private final List<OriginLayer> activeLayers;
+	private final Object2IntMap<ResourceLocation> ordinals;
+
+	private LayerSnapshot(int generation, @Nullable Registry<OriginLayer> source, OriginLayer[] layers) {
+		this.generation = generation;
+		this.source = source == null ? null : new WeakReference<>(source);
+		this.layers = layers;
+		ImmutableList.Builder<OriginLayer> active = ImmutableList.builder();
+		this.ordinals = new Object2IntOpenHashMap<>(layers.length);
+		this.ordinals.defaultReturnValue(-1);
+		for (int i = 0; i < layers.length; i++) {
+			OriginLayer layer = layers[i];
+			if (layer.getRegistryName() != null)
+				this.ordinals.put(layer.getRegistryName(), i);
+			if (layer.enabled())
+				active.add(layer);
+		}
+		this.activeLayers = active.build();
+	}
+
+	/**
+	 * The generation of this snapshot, which changes every time the layers of its registry change.
+	 */
+	public int generation() {
+		return this.generation;
+	}
+
+	/**
+	 * Checks if this snapshot was built from the given registry.
+	 */
+	public boolean isFor(Registry<OriginLayer> registry) {
+		return this.source != null && this.source.get() == registry;
+	}
+
+	/**
+	 * The amount of layers, enabled or not, in this snapshot.
+	 */
+	public int size() {
+		return this.layers.length;
+	}
+
+	/**
+	 * Returns the layer for the given ordinal.
+	 *
+	 * @param ordinal The ordinal of the layer, between {@code 0} and {@link #size()}.
+	 *
+	 * @return The layer with the given ordinal.
+	 */
+	public OriginLayer get(int ordinal) {
+		return this.layers[ordinal];
+	}
+
+	/**
+	 * Finds the ordinal of the given layer.<br>
+	 * Layers are matched by registry name, which means that a layer from a previous generation
+	 * will be given the ordinal of its replacement.
+	 *
+	 * @param layer The layer to get the ordinal of.
+	 *
+	 * @return The ordinal of the layer, or {@code -1} if it isn't part of this snapshot.
+	 */
+	public int indexOf(@Nullable OriginLayer layer) {
+		return layer == null ? -1 : this.indexOf(layer.getRegistryName());
+	}
+
+	/**
+	 * Finds the ordinal of the layer with the given name.
+	 *
+	 * @param layer The name of the layer to get the ordinal of.
+	 *
+	 * @return The ordinal of the layer, or {@code -1} if it isn't part of this snapshot.
+	 */
+	public int indexOf(@Nullable ResourceLocation layer) {
+		return layer == null ? -1 : this.ordinals.getInt(layer);
+	}
+
+	/**
+	 * Returns the enabled layers, sorted by {@link OriginLayer#order()}.
+	 */
+	public List<OriginLayer> activeLayers() {
+		return this.activeLayers;
+	}
+}
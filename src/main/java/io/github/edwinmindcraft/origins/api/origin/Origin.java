@@ -9,6 +9,7 @@ import io.github.edwinmindcraft.apoli.api.power.configuration.ConfiguredPower;
 import io.github.edwinmindcraft.apoli.api.registry.ApoliDynamicRegistries;
 import io.github.edwinmindcraft.calio.api.network.CalioCodecHelper;
 import io.github.edwinmindcraft.calio.api.registry.ICalioDynamicRegistryManager;
+import io.github.edwinmindcraft.origins.api.OriginsAPI;
 import net.minecraft.core.Registry;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextComponent;
@@ -16,6 +17,8 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.registries.ForgeRegistryEntry;
 import net.minecraftforge.registries.ObjectHolder;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -34,6 +37,9 @@ public class Origin extends ForgeRegistryEntry.UncheckedRegistryEntry<Origin> {
 	private final Component description;
 	private final Set<OriginUpgrade> upgrades;
 	private final boolean special;
+	//Resolved on first use, as the registry name is only set once the origin is registered.
+	@Nullable
+	private ResourceLocation powerSource;
 
 	public static final Codec<Origin> CODEC = RecordCodecBuilder.create(instance -> instance.group(
 			CalioCodecHelper.setOf(ResourceLocation.CODEC).fieldOf("powers").forGetter(Origin::getPowers),
@@ -118,6 +124,19 @@ public class Origin extends ForgeRegistryEntry.UncheckedRegistryEntry<Origin> {
 		return this.special;
 	}
 
+	/**
+	 * Returns the source of the powers granted by this origin, see {@link OriginsAPI#getPowerSource(Origin)}.
+	 */
+	public ResourceLocation getPowerSource() {
+		ResourceLocation source = this.powerSource;
+		if (source == null) {
+			ResourceLocation registryName = this.getRegistryName();
+			Validate.notNull(registryName, "Unregistered origins cannot provide powers.");
+			this.powerSource = source = OriginsAPI.getPowerSource(registryName);
+		}
+		return source;
+	}
+
 	public Optional<OriginUpgrade> findUpgrade(ResourceLocation advancement) {
 		return this.getUpgrades().stream().filter(x -> Objects.equals(x.advancement(), advancement)).findFirst();
 	}
@@ -146,6 +165,6 @@ public class Origin extends ForgeRegistryEntry.UncheckedRegistryEntry<Origin> {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.getRegistryName());
+		return Objects.hashCode(this.getRegistryName());
 	}
 }
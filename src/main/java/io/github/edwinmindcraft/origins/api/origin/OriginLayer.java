@@ -1,5 +1,8 @@
 package io.github.edwinmindcraft.origins.api.origin;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
@@ -8,10 +11,13 @@ import io.github.edwinmindcraft.calio.api.network.CalioCodecHelper;
 import io.github.edwinmindcraft.calio.api.registry.ICalioDynamicRegistryManager;
 import io.github.edwinmindcraft.origins.api.OriginsAPI;
 import io.github.edwinmindcraft.origins.api.registry.OriginsDynamicRegistries;
+import io.github.edwinmindcraft.origins.common.OriginsConfigs;
 import net.minecraft.core.Registry;
 import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
 import net.minecraftforge.registries.ForgeRegistryEntry;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -53,6 +59,20 @@ public final class OriginLayer extends ForgeRegistryEntry.UncheckedRegistryEntry
 	private final boolean autoChoose;
 	private final boolean hidden;
 	private final GuiTitle title;
+	//Eligible origins per player, reused until the player changes origin or dimension, or the recheck interval is elapsed.
+	private final Cache<Player, Options> options = CacheBuilder.newBuilder().weakKeys().build();
+
+	/**
+	 * Forgets the eligible origins of the given player for every layer.<br>
+	 * Must be called when something layer conditions may depend on changes, like the player's origins.
+	 *
+	 * @param player The player to forget the options of.
+	 */
+	public static void invalidateOptions(Player player) {
+		LayerSnapshot snapshot = OriginsAPI.getLayerSnapshot();
+		for (int i = 0; i < snapshot.size(); i++)
+			snapshot.get(i).options.invalidate(player);
+	}
 
 	public OriginLayer(int order, ResourceLocation registryName,
 					   Set<ConditionedOrigin> conditionedOrigins,
@@ -125,7 +145,7 @@ public final class OriginLayer extends ForgeRegistryEntry.UncheckedRegistryEntry
 	}
 
 	public Set<ResourceLocation> origins(Player player) {
-		return this.conditionedOrigins().stream().flatMap(x -> x.stream(player)).collect(Collectors.toSet());
+		return this.options(player).origins();
 	}
 
 	public boolean empty() {
@@ -133,15 +153,11 @@ public final class OriginLayer extends ForgeRegistryEntry.UncheckedRegistryEntry
 	}
 
 	public boolean empty(Player player) {
-		return this.conditionedOrigins().stream().flatMap(x -> x.stream(player)).findAny().isEmpty();
+		return this.options(player).origins().isEmpty();
 	}
 
 	public List<ResourceLocation> randomOrigins(Player player) {
-		Registry<Origin> origins = OriginsAPI.getOriginsRegistry();
-		return this.conditionedOrigins().stream().flatMap(x -> x.stream(player))
-				.filter(o -> !this.randomExclusions().contains(o))
-				.filter(id -> origins.getOptional(id).map(x -> this.allowRandomUnchoosable() || x.isChoosable()).orElse(false))
-				.collect(Collectors.toList());
+		return this.options(player).random();
 	}
 
 	public boolean contains(ResourceLocation origin) {
@@ -149,7 +165,44 @@ public final class OriginLayer extends ForgeRegistryEntry.UncheckedRegistryEntry
 	}
 
 	public boolean contains(ResourceLocation origin, Player player) {
-		return this.conditionedOrigins().stream().anyMatch(x -> ConfiguredEntityCondition.check(x.condition(), player) && x.origins().contains(origin));
+		return this.options(player).origins().contains(origin);
+	}
+
+	private Options options(Player player) {
+		long time = player.level.getGameTime();
+		Options options = this.options.getIfPresent(player);
+		if (options == null || !options.isValid(player, time)) {
+			options = this.computeOptions(player, time);
+			this.options.put(player, options);
+		}
+		return options;
+	}
+
+	/**
+	 * Evaluates the condition of every conditioned origin once, and derives every option list from the result.
+	 */
+	private Options computeOptions(Player player, long time) {
+		Registry<Origin> registry = OriginsAPI.getOriginsRegistry();
+		//Origins may appear in several conditioned origins, duplicates are kept to preserve random weights.
+		ImmutableList.Builder<ResourceLocation> eligibleBuilder = ImmutableList.builder();
+		for (ConditionedOrigin conditionedOrigin : this.conditionedOrigins()) {
+			if (ConfiguredEntityCondition.check(conditionedOrigin.condition(), player))
+				eligibleBuilder.addAll(conditionedOrigin.origins());
+		}
+		List<ResourceLocation> eligible = eligibleBuilder.build();
+		Set<ResourceLocation> origins = ImmutableSet.copyOf(eligible);
+		ImmutableList.Builder<ResourceLocation> random = ImmutableList.builder();
+		ImmutableList.Builder<Origin> candidates = ImmutableList.builder();
+		for (ResourceLocation name : eligible) {
+			Origin origin = registry.get(name);
+			if (origin == null || !(this.allowRandomUnchoosable() || origin.isChoosable()))
+				continue;
+			candidates.add(origin);
+			if (!this.randomExclusions().contains(name))
+				random.add(name);
+		}
+		List<Origin> choosable = origins.stream().flatMap(x -> registry.getOptional(x).stream()).filter(Origin::isChoosable).collect(ImmutableList.toImmutableList());
+		return new Options(player.level.dimension(), time, origins, random.build(), choosable, candidates.build());
 	}
 
 	@Override
@@ -161,7 +214,7 @@ public final class OriginLayer extends ForgeRegistryEntry.UncheckedRegistryEntry
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.getRegistryName());
+		return Objects.hashCode(this.getRegistryName());
 	}
 
 	/**
@@ -176,8 +229,7 @@ public final class OriginLayer extends ForgeRegistryEntry.UncheckedRegistryEntry
 	public Optional<Origin> getAutomaticOrigin(Player player) {
 		if (!this.autoChoose())
 			return Optional.empty();
-		Registry<Origin> registry = OriginsAPI.getOriginsRegistry();
-		List<Origin> origins = this.origins(player).stream().flatMap(x -> registry.getOptional(x).stream().filter(Origin::isChoosable)).toList();
+		List<Origin> origins = this.options(player).choosable();
 		if (this.allowRandom() && origins.isEmpty())
 			return this.selectRandom(player);
 		if (origins.size() > 1)
@@ -188,11 +240,7 @@ public final class OriginLayer extends ForgeRegistryEntry.UncheckedRegistryEntry
 	public Optional<Origin> selectRandom(Player player) {
 		if (!this.allowRandom())
 			return Optional.empty();
-		Registry<Origin> origins = OriginsAPI.getOriginsRegistry();
-		List<Origin> candidates = this.conditionedOrigins.stream()
-				.flatMap(x -> x.stream(player))
-				.flatMap(x -> origins.getOptional(x).stream())
-				.filter(x -> this.allowRandomUnchoosable() || x.isChoosable()).toList();
+		List<Origin> candidates = this.options(player).randomCandidates();
 		if (candidates.isEmpty())
 			return Optional.empty();
 		if (candidates.size() == 1)
@@ -201,11 +249,11 @@ public final class OriginLayer extends ForgeRegistryEntry.UncheckedRegistryEntry
 	}
 
 	public int getOriginOptionCount(Player playerEntity) {
-		Registry<Origin> origins = OriginsAPI.getOriginsRegistry();
-		long choosableOrigins = this.origins(playerEntity).stream().flatMap(x -> origins.getOptional(x).stream()).filter(Origin::isChoosable).count();
-		if (this.allowRandom() && this.randomOrigins(playerEntity).size() > 0)
+		Options options = this.options(playerEntity);
+		int choosableOrigins = options.choosable().size();
+		if (this.allowRandom() && !options.random().isEmpty())
 			choosableOrigins++;
-		return Math.toIntExact(choosableOrigins);
+		return choosableOrigins;
 	}
 
 	@Override
@@ -265,4 +313,20 @@ public final class OriginLayer extends ForgeRegistryEntry.UncheckedRegistryEntry
 			   "hidden=" + this.hidden + ", " +
 			   "title=" + this.title + ']';
 	}
+
+	/**
+	 * The origins of this layer a player was eligible to at a given time.
+	 *
+	 * @param origins          The eligible origins.
+	 * @param random           The eligible origins that can be selected by {@link #randomOrigins(Player)}, with duplicates.
+	 * @param choosable        The eligible origins that are choosable.
+	 * @param randomCandidates The eligible origins that can be selected by {@link #selectRandom(Player)}, with duplicates.
+	 */
+	private record Options(ResourceKey<Level> dimension, long time, Set<ResourceLocation> origins,
+						   List<ResourceLocation> random, List<Origin> choosable, List<Origin> randomCandidates) {
+		public boolean isValid(Player player, long time) {
+			return this.dimension() == player.level.dimension() && time >= this.time()
+				   && time - this.time() < OriginsConfigs.COMMON.conditionRecheckInterval();
+		}
+	}
 }
@@ -29,7 +29,7 @@ public class OriginsClientEventHandler {
 			Minecraft instance = Minecraft.getInstance();
 			if (OriginsClient.AWAITING_DISPLAY.get() && instance.screen == null && instance.player != null) {
 				IOriginContainer.get(instance.player).ifPresent(container -> {
-					List<OriginLayer> layers = OriginsAPI.getActiveLayers().stream().filter(x -> !container.hasOrigin(x)).sorted(OriginLayer::compareTo).toList();
+					List<OriginLayer> layers = OriginsAPI.getActiveLayers().stream().filter(x -> !container.hasOrigin(x)).toList();
 					if (layers.size() > 0) {
 						instance.setScreen(new ChooseOriginScreen(ImmutableList.copyOf(layers), 0, OriginsClient.SHOW_DIRT_BACKGROUND));
 						OriginsClient.AWAITING_DISPLAY.set(false);
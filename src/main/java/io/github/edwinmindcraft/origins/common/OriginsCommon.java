@@ -18,45 +18,67 @@ import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
 
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 public class OriginsCommon {
-	private static final String NETWORK_VERSION = "1.1";
+	private static final String NETWORK_VERSION = "1.4";
 
 	public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(Origins.identifier("network"), () -> NETWORK_VERSION, NETWORK_VERSION::equals, NETWORK_VERSION::equals);
 
 	private static <T> Function<FriendlyByteBuf, T> withLogging(Function<FriendlyByteBuf, T> original) {
 		return buf -> {
+			long start = OriginsProfiler.start();
 			T apply = original.apply(buf);
+			OriginsProfiler.end(OriginsProfiler.Section.PACKET_DECODE, start);
 			if (Calio.isDebugMode())
 				Origins.LOGGER.info("Received packet: {}", apply);
 			return apply;
 		};
 	}
 
+	private static <T> BiConsumer<T, FriendlyByteBuf> withProfiling(BiConsumer<T, FriendlyByteBuf> original) {
+		if (!OriginsProfiler.ENABLED)
+			return original;
+		return (packet, buf) -> {
+			long start = OriginsProfiler.start();
+			original.accept(packet, buf);
+			OriginsProfiler.end(OriginsProfiler.Section.PACKET_ENCODE, start);
+		};
+	}
+
 	private static void initializeNetwork() {
 		int message = 0;
 		CHANNEL.messageBuilder(S2CSynchronizeOrigin.class, message++, NetworkDirection.PLAY_TO_CLIENT)
-				.encoder(S2CSynchronizeOrigin::encode).decoder(withLogging(S2CSynchronizeOrigin::decode))
+				.encoder(withProfiling(S2CSynchronizeOrigin::encode)).decoder(withLogging(S2CSynchronizeOrigin::decode))
 				.consumer(S2CSynchronizeOrigin::handle).add();
 		CHANNEL.messageBuilder(S2COpenOriginScreen.class, message++, NetworkDirection.PLAY_TO_CLIENT)
-				.encoder(S2COpenOriginScreen::encode).decoder(withLogging(S2COpenOriginScreen::decode))
+				.encoder(withProfiling(S2COpenOriginScreen::encode)).decoder(withLogging(S2COpenOriginScreen::decode))
 				.consumer(S2COpenOriginScreen::handle).add();
 		CHANNEL.messageBuilder(S2CConfirmOrigin.class, message++, NetworkDirection.PLAY_TO_CLIENT)
-				.encoder(S2CConfirmOrigin::encode).decoder(withLogging(S2CConfirmOrigin::decode))
+				.encoder(withProfiling(S2CConfirmOrigin::encode)).decoder(withLogging(S2CConfirmOrigin::decode))
 				.consumer(S2CConfirmOrigin::handle).add();
 		CHANNEL.messageBuilder(S2CSynchronizeBadges.class, message++, NetworkDirection.PLAY_TO_CLIENT)
-				.encoder(S2CSynchronizeBadges::encode).decoder(withLogging(S2CSynchronizeBadges::decode))
+				.encoder(withProfiling(S2CSynchronizeBadges::encode)).decoder(withLogging(S2CSynchronizeBadges::decode))
 				.consumer(S2CSynchronizeBadges::handle).add();
+		CHANNEL.messageBuilder(S2CSynchronizeOriginIds.class, message++, NetworkDirection.PLAY_TO_CLIENT)
+				.encoder(withProfiling(S2CSynchronizeOriginIds::encode)).decoder(withLogging(S2CSynchronizeOriginIds::decode))
+				.consumer(S2CSynchronizeOriginIds::handle).add();
+		CHANNEL.messageBuilder(S2CSynchronizeOriginDelta.class, message++, NetworkDirection.PLAY_TO_CLIENT)
+				.encoder(withProfiling(S2CSynchronizeOriginDelta::encode)).decoder(withLogging(S2CSynchronizeOriginDelta::decode))
+				.consumer(S2CSynchronizeOriginDelta::handle).add();
+		CHANNEL.messageBuilder(S2CSynchronizeOriginBatch.class, message++, NetworkDirection.PLAY_TO_CLIENT)
+				.encoder(withProfiling(S2CSynchronizeOriginBatch::encode)).decoder(withLogging(S2CSynchronizeOriginBatch::decode))
+				.consumer(S2CSynchronizeOriginBatch::handle).add();
 
 		CHANNEL.messageBuilder(C2SChooseRandomOrigin.class, message++, NetworkDirection.PLAY_TO_SERVER)
-				.encoder(C2SChooseRandomOrigin::encode).decoder(withLogging(C2SChooseRandomOrigin::decode))
+				.encoder(withProfiling(C2SChooseRandomOrigin::encode)).decoder(withLogging(C2SChooseRandomOrigin::decode))
 				.consumer(C2SChooseRandomOrigin::handle).add();
 		CHANNEL.messageBuilder(C2SChooseOrigin.class, message++, NetworkDirection.PLAY_TO_SERVER)
-				.encoder(C2SChooseOrigin::encode).decoder(withLogging(C2SChooseOrigin::decode))
+				.encoder(withProfiling(C2SChooseOrigin::encode)).decoder(withLogging(C2SChooseOrigin::decode))
 				.consumer(C2SChooseOrigin::handle).add();
 		CHANNEL.messageBuilder(C2SAcknowledgeOrigins.class, message++, NetworkDirection.PLAY_TO_SERVER)
-				.encoder(C2SAcknowledgeOrigins::encode).decoder(withLogging(C2SAcknowledgeOrigins::decode))
+				.encoder(withProfiling(C2SAcknowledgeOrigins::encode)).decoder(withLogging(C2SAcknowledgeOrigins::decode))
 				.consumer(C2SAcknowledgeOrigins::handle).add();
 
 		Origins.LOGGER.debug("Registered {} packets", message);
@@ -9,7 +9,52 @@ import org.apache.commons.lang3.tuple.Pair;
 
 public class OriginsConfigs {
 	public static class Server {
-		public Server(ForgeConfigSpec.Builder builder) {}
+		private final ForgeConfigSpec.IntValue syncRetryLimit;
+		private final ForgeConfigSpec.IntValue syncRetryDelay;
+		private final ForgeConfigSpec.IntValue syncRetryMaxDelay;
+		private final ForgeConfigSpec.IntValue reconciliationBudget;
+		private final ForgeConfigSpec.IntValue schedulerBudget;
+
+		public Server(ForgeConfigSpec.Builder builder) {
+			builder.push("synchronization");
+			this.syncRetryLimit = builder
+					.comment("How many times an unacknowledged origin synchronization is sent again before giving up.")
+					.defineInRange("retry_limit", 5, 0, 100);
+			this.syncRetryDelay = builder
+					.comment("How long, in ticks, to wait for an acknowledgement before the first resend.",
+							"The delay doubles with every resend.")
+					.defineInRange("retry_delay", 20, 1, 1200);
+			this.syncRetryMaxDelay = builder
+					.comment("The maximum delay, in ticks, between two resends.")
+					.defineInRange("retry_max_delay", 400, 1, 12000);
+			builder.pop();
+			builder.push("performance");
+			this.reconciliationBudget = builder
+					.comment("How long, in microseconds, each tick may spend updating player powers after a reload.",
+							"At least one player is updated every tick.")
+					.defineInRange("reconciliation_budget", 2000, 0, 50000);
+			this.schedulerBudget = builder
+					.comment("How long, in microseconds, each tick may spend running scheduled tasks, or 0 for no limit.",
+							"Tasks left over are run on the following ticks, at least one task runs every tick.")
+					.defineInRange("scheduler_budget", 10000, 0, 50000);
+			builder.pop();
+		}
+
+		public int syncRetryLimit() {
+			return this.syncRetryLimit.get();
+		}
+
+		public int syncRetryDelay(int attempt) {
+			return Math.min(this.syncRetryDelay.get() << Math.min(attempt, 16), this.syncRetryMaxDelay.get());
+		}
+
+		public int reconciliationBudget() {
+			return this.reconciliationBudget.get();
+		}
+
+		public int schedulerBudget() {
+			return this.schedulerBudget.get();
+		}
 	}
 
 	public static class Client {
@@ -19,10 +64,21 @@ public class OriginsConfigs {
 	public static class Common {
 
 		private final ForgeConfigSpec.ConfigValue<Config> origins;
+		private final ForgeConfigSpec.IntValue conditionRecheckInterval;
 
 		public Common(ForgeConfigSpec.Builder builder) {
 			//Remove validation.
 			this.origins = builder.define(ImmutableList.of("origins"), Config::inMemory, x -> x instanceof Config, Config.class);
+			builder.push("performance");
+			this.conditionRecheckInterval = builder
+					.comment("How long, in ticks, the result of layer conditions is reused before being evaluated again.",
+							"Set to 0 to evaluate conditions every time.")
+					.defineInRange("condition_recheck_interval", 20, 0, 1200);
+			builder.pop();
+		}
+
+		public int conditionRecheckInterval() {
+			return this.conditionRecheckInterval.get();
 		}
 
 		public boolean isOriginEnabled(ResourceLocation origin) {
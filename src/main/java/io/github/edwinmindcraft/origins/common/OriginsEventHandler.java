@@ -6,11 +6,10 @@ import io.github.apace100.apoli.mixin.EntityAccessor;
 import io.github.apace100.origins.Origins;
 import io.github.apace100.origins.badge.BadgeManager;
 import io.github.apace100.origins.command.OriginCommand;
+import io.github.apace100.origins.mixin.LivingEntityAccessor;
 import io.github.apace100.origins.origin.OriginLayers;
 import io.github.apace100.origins.origin.OriginRegistry;
-import io.github.apace100.origins.power.OriginsPowerTypes;
 import io.github.apace100.origins.registry.ModDamageSources;
-import io.github.edwinmindcraft.apoli.api.component.IPowerContainer;
 import io.github.edwinmindcraft.apoli.api.registry.ApoliDynamicRegistries;
 import io.github.edwinmindcraft.calio.api.event.CalioDynamicRegistryEvent;
 import io.github.edwinmindcraft.calio.api.event.DynamicRegistrationEvent;
@@ -19,23 +18,33 @@ import io.github.edwinmindcraft.origins.api.OriginsAPI;
 import io.github.edwinmindcraft.origins.api.capabilities.IOriginContainer;
 import io.github.edwinmindcraft.origins.api.origin.Origin;
 import io.github.edwinmindcraft.origins.api.origin.OriginLayer;
+import io.github.edwinmindcraft.origins.api.origin.OriginUpgrade;
 import io.github.edwinmindcraft.origins.api.registry.OriginsBuiltinRegistries;
 import io.github.edwinmindcraft.origins.api.registry.OriginsDynamicRegistries;
 import io.github.edwinmindcraft.origins.common.capabilities.OriginContainer;
+import io.github.edwinmindcraft.origins.common.capabilities.OriginHolderIndex;
+import io.github.edwinmindcraft.origins.common.capabilities.OriginPowerIndex;
+import io.github.edwinmindcraft.origins.common.capabilities.OriginUpgradeIndex;
+import io.github.edwinmindcraft.origins.common.capabilities.PowerReconciliationQueue;
 import io.github.edwinmindcraft.origins.common.data.LayerLoader;
 import io.github.edwinmindcraft.origins.common.data.OriginLoader;
+import io.github.edwinmindcraft.origins.common.network.OriginNetworkIds;
+import io.github.edwinmindcraft.origins.common.network.OriginSyncScheduler;
+import io.github.edwinmindcraft.origins.common.power.PowerPresence;
+import io.github.edwinmindcraft.origins.common.power.ScareCreepersIndex;
 import io.github.edwinmindcraft.origins.common.network.S2COpenOriginScreen;
 import net.minecraft.ChatFormatting;
 import net.minecraft.advancements.Advancement;
+import net.minecraft.core.Registry;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.network.chat.TranslatableComponent;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.FluidTags;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
@@ -44,42 +53,20 @@ import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.AdvancementEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.fml.util.ObfuscationReflectionHelper;
 import net.minecraftforge.network.PacketDistributor;
 import net.minecraftforge.server.ServerLifecycleHooks;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Mod.EventBusSubscriber(modid = Origins.MODID)
 public class OriginsEventHandler {
-	//region Reflection
-	private static final Method DECREASE_AIR_SUPPLY = ObfuscationReflectionHelper.findMethod(LivingEntity.class, "m_7302_", int.class);
-	private static final Method INCREASE_AIR_SUPPLY = ObfuscationReflectionHelper.findMethod(LivingEntity.class, "m_7305_", int.class);
-
-	private static int increaseAirSupply(LivingEntity living, int value) {
-		try {
-			return (int) INCREASE_AIR_SUPPLY.invoke(living, value);
-		} catch (IllegalAccessException | InvocationTargetException e) {
-			throw new RuntimeException(e);
-		}
-	}
-
-	private static int decreaseAirSupply(LivingEntity living, int value) {
-		try {
-			return (int) DECREASE_AIR_SUPPLY.invoke(living, value);
-		} catch (IllegalAccessException | InvocationTargetException e) {
-			throw new RuntimeException(e);
-		}
-	}
-	//endregion
-
 	@SubscribeEvent
 	public static void registerCommands(RegisterCommandsEvent event) {
 		OriginCommand.register(event.getDispatcher());
@@ -94,6 +81,8 @@ public class OriginsEventHandler {
 	@SubscribeEvent
 	public static void onDataSync(OnDatapackSyncEvent event) {
 		PacketDistributor.PacketTarget target = event.getPlayer() == null ? PacketDistributor.ALL.noArg() : PacketDistributor.PLAYER.with(event::getPlayer);
+		//The id table must be sent before any packet using it.
+		OriginsCommon.CHANNEL.send(target, OriginNetworkIds.server(event.getPlayerList().getServer()).createPacket());
 		OriginsCommon.CHANNEL.send(target, BadgeManager.createPacket());
 		if (event.getPlayer() != null)
 			IOriginContainer.get(event.getPlayer()).map(IOriginContainer::getSynchronizationPacket).ifPresent(packet -> OriginsCommon.CHANNEL.send(target, packet));
@@ -114,9 +103,16 @@ public class OriginsEventHandler {
 	@SubscribeEvent
 	public static void onAdvancement(AdvancementEvent event) {
 		Advancement advancement = event.getAdvancement();
-		IOriginContainer.get(event.getPlayer()).ifPresent(container -> container.getOrigins().forEach((layer, origin) -> origin.getUpgrades().stream().filter(x -> Objects.equals(x.advancement(), advancement.getId())).findFirst().ifPresent(upgrade -> {
+		Registry<Origin> registry = OriginsAPI.getOriginsRegistry();
+		Map<ResourceLocation, OriginUpgrade> upgrades = OriginUpgradeIndex.get(registry).getUpgrades(advancement.getId());
+		if (upgrades.isEmpty())
+			return;
+		IOriginContainer.get(event.getPlayer()).ifPresent(container -> container.getOrigins().forEach((layer, origin) -> {
+			OriginUpgrade upgrade = upgrades.get(origin.getRegistryName());
+			if (upgrade == null)
+				return;
 			try {
-				Origin target = OriginsAPI.getOriginsRegistry().get(upgrade.origin());
+				Origin target = registry.get(upgrade.origin());
 				if (target != null) {
 					container.setOrigin(layer, target);
 					container.synchronize();
@@ -126,7 +122,18 @@ public class OriginsEventHandler {
 			} catch (IllegalArgumentException e) {
 				Origins.LOGGER.error("Could not perform Origins upgrade from {} to {}, as the upgrade origin did not exist!", origin.getRegistryName(), upgrade.origin());
 			}
-		})));
+		}));
+	}
+
+	@SubscribeEvent
+	public static void reloadStart(CalioDynamicRegistryEvent.Reload event) {
+		OriginsAPI.rebuildLayerSnapshot(null);
+		OriginsAPI.clearPowerSourceCache();
+		OriginNetworkIds.invalidateServer();
+		OriginPowerIndex.invalidate();
+		OriginUpgradeIndex.clear();
+		OriginLoader.INSTANCE.beginReload();
+		LayerLoader.INSTANCE.beginReload();
 	}
 
 	@SubscribeEvent
@@ -134,6 +141,10 @@ public class OriginsEventHandler {
 	public static void reloadComplete(CalioDynamicRegistryEvent.LoadComplete event) {
 		OriginRegistry.clear();
 		OriginLayers.clear();
+		OriginLoader.INSTANCE.endReload();
+		LayerLoader.INSTANCE.endReload();
+		OriginsAPI.rebuildLayerSnapshot(event.getRegistryManager().get(OriginsDynamicRegistries.LAYERS_REGISTRY));
+		OriginUpgradeIndex.get(event.getRegistryManager().get(OriginsDynamicRegistries.ORIGINS_REGISTRY));
 		MinecraftServer currentServer = ServerLifecycleHooks.getCurrentServer();
 		if (currentServer != null) {
 			for (ServerPlayer player : currentServer.getPlayerList().getPlayers()) {
@@ -163,10 +174,53 @@ public class OriginsEventHandler {
 			}));
 	}
 
+	@SubscribeEvent
+	public static void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+		if (!event.getPlayer().level.isClientSide()) {
+			OriginHolderIndex.INSTANCE.remove(event.getPlayer().getUUID());
+			OriginSyncScheduler.INSTANCE.remove(event.getPlayer());
+		}
+	}
+
+	@SubscribeEvent
+	public static void onServerStopped(ServerStoppedEvent event) {
+		OriginHolderIndex.INSTANCE.clear();
+		OriginNetworkIds.invalidateServer();
+		OriginSyncScheduler.INSTANCE.clear();
+		OriginPowerIndex.clear();
+		PowerReconciliationQueue.INSTANCE.clear();
+		ScareCreepersIndex.clear();
+		OriginUpgradeIndex.clear();
+	}
+
+	@SubscribeEvent
+	public static void onServerTickEnd(TickEvent.ServerTickEvent event) {
+		if (event.phase == TickEvent.Phase.END) {
+			MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+			if (server != null)
+				PowerReconciliationQueue.INSTANCE.tick(server);
+			OriginSyncScheduler.INSTANCE.flush();
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldTickStart(TickEvent.WorldTickEvent event) {
+		if (event.phase == TickEvent.Phase.START && event.world instanceof ServerLevel level)
+			ScareCreepersIndex.rebuild(level);
+	}
+
 	@SubscribeEvent
 	public static void onStartTracking(PlayerEvent.StartTracking event) {
-		if (event.getTarget() instanceof Player target && event.getPlayer() instanceof ServerPlayer sp && !event.getPlayer().level.isClientSide())
+		if (event.getTarget() instanceof Player target && event.getPlayer() instanceof ServerPlayer sp && !event.getPlayer().level.isClientSide()) {
+			OriginSyncScheduler.INSTANCE.startTracking(target, sp);
 			Objects.requireNonNull(sp.getServer()).submitAsync(() -> IOriginContainer.get(target).ifPresent(x -> OriginsCommon.CHANNEL.send(PacketDistributor.PLAYER.with(() -> sp), x.getSynchronizationPacket())));
+		}
+	}
+
+	@SubscribeEvent
+	public static void onStopTracking(PlayerEvent.StopTracking event) {
+		if (event.getTarget() instanceof Player target && event.getPlayer() instanceof ServerPlayer sp && !event.getPlayer().level.isClientSide())
+			OriginSyncScheduler.INSTANCE.stopTracking(target, sp);
 	}
 
 	@SubscribeEvent
@@ -178,9 +232,16 @@ public class OriginsEventHandler {
 		if (original.isPresent() != player.isPresent()) {
 			Apoli.LOGGER.info("Capability mismatch: original:{}, new:{}", original.isPresent(), player.isPresent());
 		}
-		player.ifPresent(p -> original.ifPresent(o -> p.deserializeNBT(o.serializeNBT())));
+		player.ifPresent(p -> original.ifPresent(o -> {
+			if (p instanceof OriginContainer target && o instanceof OriginContainer source)
+				target.transferFrom(source);
+			else
+				p.deserializeNBT(o.serializeNBT());
+		}));
 
 		event.getOriginal().invalidateCaps(); // Unload capabilities.
+		if (!event.getPlayer().level.isClientSide())
+			OriginSyncScheduler.INSTANCE.remove(event.getOriginal());
 	}
 
 	@SubscribeEvent
@@ -188,11 +249,13 @@ public class OriginsEventHandler {
 		if (event.phase == TickEvent.Phase.END) {
 			Player player = event.player;
 			IOriginContainer.get(event.player).ifPresent(IOriginContainer::tick);
-			if (IPowerContainer.hasPower(player, OriginsPowerTypes.WATER_BREATHING.get())) {
+			long start = OriginsProfiler.start();
+			if (PowerPresence.has(player, PowerPresence.WATER_BREATHING)) {
+				LivingEntityAccessor accessor = (LivingEntityAccessor) player;
 				if (!player.isEyeInFluid(FluidTags.WATER) && !player.hasEffect(MobEffects.WATER_BREATHING) && !player.hasEffect(MobEffects.CONDUIT_POWER)) {
+					int landGain = accessor.callIncreaseAirSupply(0);
 					if (!((EntityAccessor) player).callIsBeingRainedOn()) {
-						int landGain = increaseAirSupply(player, 0);
-						player.setAirSupply(decreaseAirSupply(player, player.getAirSupply()) - landGain);
+						player.setAirSupply(accessor.callDecreaseAirSupply(player.getAirSupply()) - landGain);
 						if (player.getAirSupply() == -20) {
 							player.setAirSupply(0);
 
@@ -204,14 +267,13 @@ public class OriginsEventHandler {
 							}
 							player.hurt(ModDamageSources.NO_WATER_FOR_GILLS, 2.0F);
 						}
-					} else {
-						int landGain = increaseAirSupply(player, 0);
+					} else
 						player.setAirSupply(player.getAirSupply() - landGain);
-					}
 				} else if (player.getAirSupply() < player.getMaxAirSupply()) {
-					player.setAirSupply(increaseAirSupply(player, player.getAirSupply()));
+					player.setAirSupply(accessor.callIncreaseAirSupply(player.getAirSupply()));
 				}
 			}
+			OriginsProfiler.end(OriginsProfiler.Section.WATER_BREATHING, start);
 		}
 	}
 
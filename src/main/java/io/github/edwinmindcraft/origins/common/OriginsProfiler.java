@@ -0,0 +1,96 @@
+package io.github.edwinmindcraft.origins.common;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lightweight timings of the hot paths of Origins, reported by {@code /origin perf}.<br>
+ * Disabled unless the JVM is started with {@code -Dorigins.profiler=true}. Since {@link #ENABLED} is a
+ * constant, disabled call sites are removed by the JIT and cost nothing.
+ * Durations are recorded in power-of-two nanosecond buckets, so percentiles are accurate within a factor of two.
+ */
+public final class OriginsProfiler {
+	public static final boolean ENABLED = Boolean.getBoolean("origins.profiler");
+
+	public enum Section {
+		CONTAINER_CLEANUP,
+		CONTAINER_SYNC,
+		AUTO_CHOOSE,
+		WATER_BREATHING,
+		POWER_CHECK,
+		PACKET_ENCODE,
+		PACKET_DECODE;
+
+		private static final int BUCKETS = 64;
+		//Packets are encoded and decoded on netty threads, hence the atomics.
+		private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		public String getName() {
+			return this.name().toLowerCase(Locale.ROOT);
+		}
+
+		private void record(long nanos) {
+			this.histogram.incrementAndGet(nanos <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(nanos) - 1);
+		}
+
+		public long getCount() {
+			long count = 0;
+			for (int i = 0; i < BUCKETS; i++)
+				count += this.histogram.get(i);
+			return count;
+		}
+
+		/**
+		 * Estimates the given percentile of the recorded durations.
+		 *
+		 * @param percentile The percentile, between 0 and 1.
+		 *
+		 * @return The exclusive upper bound of the bucket holding the percentile, in nanoseconds, or 0 if nothing was recorded.
+		 */
+		public long getPercentile(double percentile) {
+			long[] counts = new long[BUCKETS];
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++)
+				total += counts[i] = this.histogram.get(i);
+			if (total == 0)
+				return 0;
+			long target = Math.max(1, (long) Math.ceil(total * percentile));
+			long seen = 0;
+			for (int i = 0; i < BUCKETS - 1; i++) {
+				seen += counts[i];
+				if (seen >= target)
+					return 1L << (i + 1);
+			}
+			return Long.MAX_VALUE;
+		}
+
+		private void reset() {
+			for (int i = 0; i < BUCKETS; i++)
+				this.histogram.set(i, 0);
+		}
+	}
+
+	/**
+	 * Starts timing a section.
+	 *
+	 * @return The value to pass to {@link #end(Section, long)}.
+	 */
+	public static long start() {
+		return ENABLED ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Records the time elapsed since the matching {@link #start()}.
+	 */
+	public static void end(@NotNull Section section, long start) {
+		if (ENABLED)
+			section.record(System.nanoTime() - start);
+	}
+
+	public static void reset() {
+		for (Section section : Section.values())
+			section.reset();
+	}
+}
@@ -2,6 +2,7 @@ package io.github.edwinmindcraft.origins.common.capabilities;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import io.github.apace100.calio.Calio;
 import io.github.apace100.origins.Origins;
 import io.github.apace100.origins.component.OriginComponent;
@@ -13,54 +14,218 @@ import io.github.edwinmindcraft.apoli.api.power.configuration.ConfiguredPower;
 import io.github.edwinmindcraft.origins.api.OriginsAPI;
 import io.github.edwinmindcraft.origins.api.capabilities.IOriginContainer;
 import io.github.edwinmindcraft.origins.api.origin.IOriginCallbackPower;
+import io.github.edwinmindcraft.origins.api.origin.LayerSnapshot;
 import io.github.edwinmindcraft.origins.api.origin.Origin;
 import io.github.edwinmindcraft.origins.api.origin.OriginLayer;
-import io.github.edwinmindcraft.origins.common.OriginsCommon;
+import io.github.edwinmindcraft.origins.common.OriginsConfigs;
+import io.github.edwinmindcraft.origins.common.OriginsProfiler;
+import io.github.edwinmindcraft.origins.common.network.OriginNetworkIds;
+import io.github.edwinmindcraft.origins.common.network.OriginSyncScheduler;
 import io.github.edwinmindcraft.origins.common.network.S2CSynchronizeOrigin;
+import io.github.edwinmindcraft.origins.common.network.S2CSynchronizeOriginDelta;
+import io.github.edwinmindcraft.origins.common.power.PowerPresence;
 import io.github.edwinmindcraft.origins.common.registry.OriginRegisters;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
 import net.minecraft.core.Direction;
-import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 import net.minecraftforge.common.util.Lazy;
 import net.minecraftforge.common.util.LazyOptional;
-import net.minecraftforge.network.PacketDistributor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 public class OriginContainer implements IOriginContainer, ICapabilitySerializable<Tag> {
 
 	public static final ResourceLocation ID = Origins.identifier("origins");
 
+	//Version of the compact format, which is still read but no longer written.
+	private static final int FORMAT_VERSION = 2;
+	private static final LongAdder COMPLETION_HITS = new LongAdder();
+	private static final LongAdder COMPLETION_MISSES = new LongAdder();
+
+	private static final LongAdder SYNC_RESENDS = new LongAdder();
+	private static final LongAdder SYNC_ABANDONED = new LongAdder();
+
+	/**
+	 * Returns the amount of synchronizations that were sent again because they weren't acknowledged in time.
+	 */
+	public static long getSynchronizationResends() {
+		return SYNC_RESENDS.sum();
+	}
+
+	/**
+	 * Returns the amount of synchronizations that were given up on after reaching the retry limit.
+	 */
+	public static long getSynchronizationsAbandoned() {
+		return SYNC_ABANDONED.sum();
+	}
+
+	/**
+	 * Counts the players of the given server with a synchronization waiting for an acknowledgement.
+	 */
+	public static int getOutstandingSynchronizations(MinecraftServer server) {
+		int count = 0;
+		for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+			if (IOriginContainer.get(player).resolve().orElse(null) instanceof OriginContainer container && container.isAwaitingAcknowledgement())
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the amount of {@link #hasAllOrigins()} calls that were answered from the cache.
+	 */
+	public static long getCompletionCacheHits() {
+		return COMPLETION_HITS.sum();
+	}
+
+	/**
+	 * Returns the amount of {@link #hasAllOrigins()} calls that had to evaluate layer conditions.
+	 */
+	public static long getCompletionCacheMisses() {
+		return COMPLETION_MISSES.sum();
+	}
+
 	private final Player player;
-	private final Map<OriginLayer, Origin> layers;
+	//Origins are indexed by the ordinal of their layer in the snapshot of generation layerGeneration.
+	private OriginLayer[] layers;
+	private Origin[] origins;
+	private int layerGeneration;
+	//Origins for layers that aren't part of the current snapshot, kept until the layer comes back or the player is saved.
+	private final Map<OriginLayer, Origin> detached;
+	@Nullable
+	private Map<OriginLayer, Origin> originsView;
 	private final AtomicBoolean synchronization;
 	private final AtomicBoolean hadAllOrigins;
 	private boolean cleanupPowers = true;
+	private boolean reconciliationQueued;
+	//Generation of the power index this container was last reconciled against, or 0.
+	private int powerGeneration;
+
+	//Layer ordinals changed since the last synchronization, and the ones sent but not yet acknowledged.
+	private final BitSet dirtyLayers = new BitSet();
+	private final BitSet pendingLayers = new BitSet();
+	private boolean dirtyFull;
+	private boolean pendingFull;
+	private boolean dirtyPowers;
+
+	//Sequence of the last synchronization sent, and of the one waiting for an acknowledgement, or 0.
+	private int sequence;
+	private int awaitedSequence;
+	private int sendAttempts;
+	private int retryTicks;
+
+	//Cached result of hasAllOrigins, invalidated on change or once the recheck interval is elapsed.
+	private boolean completionValid;
+	private boolean completion;
+	private int completionGeneration;
+	private long completionTime;
 
 	public OriginContainer(Player player) {
 		this.player = player;
-		this.layers = new ConcurrentHashMap<>();
+		this.layers = new OriginLayer[0];
+		this.origins = new Origin[0];
+		this.layerGeneration = LayerSnapshot.EMPTY.generation();
+		this.detached = new HashMap<>();
 		this.synchronization = new AtomicBoolean();
 		this.hadAllOrigins = new AtomicBoolean();
 	}
 
+	/**
+	 * Returns the current layer snapshot, re-indexing this container if the snapshot changed since the last access.
+	 */
+	private LayerSnapshot snapshot() {
+		LayerSnapshot snapshot = OriginsAPI.getLayerSnapshot();
+		if (snapshot.generation() != this.layerGeneration)
+			this.reindex(snapshot);
+		return snapshot;
+	}
+
+	private void reindex(LayerSnapshot snapshot) {
+		OriginLayer[] layers = new OriginLayer[snapshot.size()];
+		Origin[] origins = new Origin[snapshot.size()];
+		Map<OriginLayer, Origin> entries = new HashMap<>(this.detached);
+		for (int i = 0; i < this.origins.length; i++) {
+			if (this.origins[i] != null)
+				entries.put(this.layers[i], this.origins[i]);
+		}
+		this.detached.clear();
+		entries.forEach((layer, origin) -> {
+			int index = snapshot.indexOf(layer);
+			if (index < 0)
+				this.detached.put(layer, origin);
+			else {
+				layers[index] = snapshot.get(index);
+				origins[index] = origin;
+			}
+		});
+		this.layers = layers;
+		this.origins = origins;
+		this.layerGeneration = snapshot.generation();
+		this.originsView = null;
+		//Ordinals changed, so the dirty bits are meaningless.
+		this.dirtyLayers.clear();
+		this.pendingLayers.clear();
+		this.dirtyFull = true;
+	}
+
+	@Nullable
+	private Origin put(OriginLayer layer, Origin origin) {
+		LayerSnapshot snapshot = this.snapshot();
+		int index = snapshot.indexOf(layer);
+		Origin previous;
+		if (index < 0) {
+			previous = this.detached.put(layer, origin);
+			this.dirtyFull = true;
+		} else {
+			previous = this.origins[index];
+			this.layers[index] = snapshot.get(index);
+			this.origins[index] = origin;
+			if (!Objects.equals(origin, previous))
+				this.dirtyLayers.set(index);
+		}
+		this.originsView = null;
+		this.updateHolderIndex();
+		return previous;
+	}
+
+	private void clear() {
+		Arrays.fill(this.layers, null);
+		Arrays.fill(this.origins, null);
+		this.detached.clear();
+		this.originsView = null;
+		this.dirtyLayers.clear();
+		this.dirtyFull = true;
+		this.updateHolderIndex();
+	}
+
+	private void updateHolderIndex() {
+		if (!this.player.level.isClientSide())
+			OriginHolderIndex.INSTANCE.update(this);
+	}
+
 	@Override
 	public void setOrigin(@NotNull OriginLayer layer, @NotNull Origin origin) {
-		Origin previous = this.layers.put(layer, origin);
+		Origin previous = this.put(layer, origin);
 		if (!Objects.equals(origin, previous)) {
+			this.invalidateConditions();
+			this.dirtyPowers = true;
+			PowerPresence.invalidate(this.player);
 			IPowerContainer.get(this.player).ifPresent(container -> {
 				this.grantPowers(container, origin);
 				if (previous != null)
@@ -86,7 +251,13 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 
 	@Override
 	public @NotNull Origin getOrigin(@NotNull OriginLayer layer) {
-		return this.layers.getOrDefault(layer, Origin.EMPTY);
+		int index = this.snapshot().indexOf(layer);
+		Origin origin;
+		if (index < 0)
+			origin = this.detached.isEmpty() ? null : this.detached.get(layer);
+		else
+			origin = this.origins[index];
+		return origin != null ? origin : Origin.EMPTY;
 	}
 
 	@Override
@@ -94,6 +265,31 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 		return !Objects.equals(this.getOrigin(layer), OriginRegisters.EMPTY.get());
 	}
 
+	@Override
+	public boolean hasAllOrigins() {
+		int generation = OriginsAPI.getLayerSnapshot().generation();
+		long time = this.player.level.getGameTime();
+		if (this.completionValid && this.completionGeneration == generation && time >= this.completionTime
+			&& time - this.completionTime < OriginsConfigs.COMMON.conditionRecheckInterval()) {
+			COMPLETION_HITS.increment();
+			return this.completion;
+		}
+		COMPLETION_MISSES.increment();
+		this.completion = IOriginContainer.super.hasAllOrigins();
+		this.completionGeneration = generation;
+		this.completionTime = time;
+		this.completionValid = true;
+		return this.completion;
+	}
+
+	/**
+	 * Drops the cached results of layer conditions, as they may depend on this player's origins.
+	 */
+	private void invalidateConditions() {
+		this.completionValid = false;
+		OriginLayer.invalidateOptions(this.player);
+	}
+
 	@Override
 	public boolean hadAllOrigins() {
 		return this.hadAllOrigins.get();
@@ -101,11 +297,27 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 
 	@Override
 	public @NotNull Map<OriginLayer, Origin> getOrigins() {
-		return ImmutableMap.copyOf(this.layers);
+		this.snapshot();
+		Map<OriginLayer, Origin> view = this.originsView;
+		if (view == null) {
+			ImmutableMap.Builder<OriginLayer, Origin> builder = ImmutableMap.builder();
+			for (int i = 0; i < this.origins.length; i++) {
+				if (this.origins[i] != null)
+					builder.put(this.layers[i], this.origins[i]);
+			}
+			builder.putAll(this.detached);
+			this.originsView = view = builder.build();
+		}
+		return view;
 	}
 
+	/**
+	 * Requests a synchronization. If no layer was marked as changed, every layer will be sent.
+	 */
 	@Override
 	public void synchronize() {
+		if (this.dirtyLayers.isEmpty())
+			this.dirtyFull = true;
 		this.synchronization.compareAndSet(false, true);
 	}
 
@@ -121,51 +333,169 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 
 	@Override
 	public void tick() {
-		if (this.cleanupPowers) {
-			this.cleanupPowers = false;
-			IPowerContainer.get(this.player).ifPresent(container -> {
-				for (Origin origin : this.layers.values()) {
-					ResourceLocation powerSource = OriginsAPI.getPowerSource(origin);
+		//Reconciliations after a reload are handled by the queue, only the initial one happens here.
+		if (this.cleanupPowers && !this.reconciliationQueued && this.player.getServer() != null) {
+			long start = OriginsProfiler.start();
+			this.reconcilePowers(OriginPowerIndex.get(this.player.getServer()));
+			OriginsProfiler.end(OriginsProfiler.Section.CONTAINER_CLEANUP, start);
+		}
+		if (this.shouldSync() && !this.player.level.isClientSide() && this.player instanceof ServerPlayer sp) {
+			long start = OriginsProfiler.start();
+			if (!this.dirtyLayers.isEmpty() || this.dirtyFull) {
+				this.sendAttempts = 0;
+				this.sendSynchronization(sp, false);
+			} else if (this.awaitedSequence == 0)
+				this.synchronization.set(false);
+			else if (--this.retryTicks <= 0) {
+				if (this.sendAttempts >= OriginsConfigs.SERVER.syncRetryLimit()) {
+					SYNC_ABANDONED.increment();
+					Origins.LOGGER.debug("Gave up on synchronization {} for player {} after {} attempts", this.awaitedSequence, this.player.getScoreboardName(), this.sendAttempts + 1);
+					this.validateSynchronization();
+				} else {
+					this.sendAttempts++;
+					SYNC_RESENDS.increment();
+					//Trackers don't acknowledge, so they already received this update.
+					this.sendSynchronization(sp, true);
+				}
+			}
+			OriginsProfiler.end(OriginsProfiler.Section.CONTAINER_SYNC, start);
+		}
+	}
+
+	/**
+	 * Grants missing powers and revokes removed ones for every held origin.<br>
+	 * If this container was reconciled against the previous generation, only the origins that changed
+	 * since are checked, otherwise every origin is compared against its full power set.
+	 */
+	void reconcilePowers(OriginPowerIndex index) {
+		this.cleanupPowers = false;
+		this.reconciliationQueued = false;
+		this.refreshOrigins();
+		boolean incremental = this.powerGeneration != 0 && this.powerGeneration + 1 == index.generation();
+		this.powerGeneration = index.generation();
+		IPowerContainer.get(this.player).ifPresent(container -> {
+			for (Origin origin : this.getOrigins().values()) {
+				ResourceLocation name = origin.getRegistryName();
+				//Origins that were removed keep their powers, until they are replaced.
+				if (name == null || !index.contains(name))
+					continue;
+				ResourceLocation powerSource = origin.getPowerSource();
+				Set<ResourceLocation> toRemove;
+				Set<ResourceLocation> toAdd;
+				if (incremental) {
+					OriginPowerIndex.Delta delta = index.getDelta(name);
+					if (delta == null)
+						continue;
+					toRemove = delta.removed().stream().filter(power -> container.hasPower(power, powerSource)).collect(Collectors.toSet());
+					toAdd = delta.added().stream().filter(power -> !container.hasPower(power, powerSource)).collect(Collectors.toSet());
+				} else {
 					Set<ResourceLocation> currentPowers = ImmutableSet.copyOf(container.getPowersFromSource(powerSource));
-					Registry<ConfiguredPower<?, ?>> registry = ApoliAPI.getPowers(this.player.getServer());
-
-					Set<ResourceLocation> newPowers = origin.getPowers().stream().map(registry::get).filter(Objects::nonNull).flatMap(x -> {
-						HashSet<ResourceLocation> names = new HashSet<>();
-						names.add(x.getRegistryName());
-						x.getChildren().stream().filter(Holder::isBound).map(Holder::value).map(ConfiguredPower::getRegistryName).forEach(names::add);
-						return names.stream();
-					}).collect(ImmutableSet.toImmutableSet());
-					Set<ResourceLocation> toRemove = currentPowers.stream().filter(x -> !newPowers.contains(x)).collect(Collectors.toSet());
-					Set<ResourceLocation> toAdd = newPowers.stream().filter(x -> !currentPowers.contains(x)).collect(Collectors.toSet());
-					if (!toRemove.isEmpty()) {
-						toRemove.forEach(power -> container.removePower(power, powerSource));
-						Origins.LOGGER.debug("CLEANUP: Revoked {} removed powers for origin {} on player {}", toRemove.size(), origin.getRegistryName(), this.player.getScoreboardName());
-					}
-					if (!toAdd.isEmpty()) {
-						toAdd.forEach(power -> container.addPower(power, powerSource));
-						Origins.LOGGER.debug("CLEANUP: Granted {} missing powers for origin {} on player {}", toAdd.size(), origin.getRegistryName(), this.player.getScoreboardName());
-					}
+					Set<ResourceLocation> newPowers = index.getPowers(name);
+					toRemove = Sets.difference(currentPowers, newPowers);
+					toAdd = Sets.difference(newPowers, currentPowers);
 				}
-			});
+				if (!toRemove.isEmpty() || !toAdd.isEmpty()) {
+					this.dirtyPowers = true;
+					PowerPresence.invalidate(this.player);
+				}
+				if (!toRemove.isEmpty()) {
+					toRemove.forEach(power -> container.removePower(power, powerSource));
+					Origins.LOGGER.debug("CLEANUP: Revoked {} removed powers for origin {} on player {}", toRemove.size(), name, this.player.getScoreboardName());
+				}
+				if (!toAdd.isEmpty()) {
+					toAdd.forEach(power -> container.addPower(power, powerSource));
+					Origins.LOGGER.debug("CLEANUP: Granted {} missing powers for origin {} on player {}", toAdd.size(), name, this.player.getScoreboardName());
+				}
+			}
+		});
+	}
+
+	/**
+	 * Replaces held origins with the instances from the current registry, as reloads create new instances.
+	 */
+	private void refreshOrigins() {
+		Registry<Origin> registry = OriginsAPI.getOriginsRegistry();
+		this.snapshot();
+		for (int i = 0; i < this.origins.length; i++) {
+			Origin origin = this.origins[i];
+			Origin current = origin == null || origin.getRegistryName() == null ? null : registry.get(origin.getRegistryName());
+			if (current != null && current != origin) {
+				this.origins[i] = current;
+				this.originsView = null;
+			}
 		}
-		if (this.shouldSync() && !this.player.level.isClientSide() && this.syncCooldown.decrementAndGet() <= 0) {
-			OriginsCommon.CHANNEL.send(PacketDistributor.TRACKING_ENTITY_AND_SELF.with(() -> this.player), this.getSynchronizationPacket());
-			this.syncCooldown.set(20);
+		this.detached.replaceAll((layer, origin) -> {
+			Origin current = origin.getRegistryName() == null ? null : registry.get(origin.getRegistryName());
+			return current != null ? current : origin;
+		});
+		this.originsView = null;
+	}
+
+	private void sendSynchronization(ServerPlayer player, boolean ownerOnly) {
+		//Changes are kept pending until acknowledged, so that a resend contains them as well.
+		this.pendingLayers.or(this.dirtyLayers);
+		this.pendingFull |= this.dirtyFull;
+		this.dirtyLayers.clear();
+		this.dirtyFull = false;
+		if (++this.sequence == 0)
+			this.sequence = 1;
+		this.awaitedSequence = this.sequence;
+		this.retryTicks = OriginsConfigs.SERVER.syncRetryDelay(this.sendAttempts);
+		S2CSynchronizeOriginDelta delta = this.pendingFull ? null : this.getDeltaPacket(this.sequence);
+		if (delta != null)
+			OriginSyncScheduler.INSTANCE.queue(player, delta, ownerOnly);
+		else
+			OriginSyncScheduler.INSTANCE.queue(player, this.getSynchronizationPacket(this.sequence), ownerOnly);
+		if (this.dirtyPowers) {
+			this.dirtyPowers = false;
 			ApoliAPI.synchronizePowerContainer(this.player);
 		}
 	}
 
+	/**
+	 * Builds a packet containing the pending layers, or returns {@code null} if one of them
+	 * cannot be expressed with network ids, in which case a full synchronization is required.
+	 */
+	@Nullable
+	private S2CSynchronizeOriginDelta getDeltaPacket(int sequence) {
+		if (this.player.getServer() == null)
+			return null;
+		this.snapshot();
+		OriginNetworkIds ids = OriginNetworkIds.server(this.player.getServer());
+		int[] layers = new int[this.pendingLayers.cardinality()];
+		int[] origins = new int[layers.length];
+		int i = 0;
+		for (int index = this.pendingLayers.nextSetBit(0); index >= 0; index = this.pendingLayers.nextSetBit(index + 1)) {
+			if (index >= this.origins.length || this.origins[index] == null)
+				return null;
+			layers[i] = ids.layerId(this.layers[index].getRegistryName());
+			origins[i] = ids.originId(this.origins[index].getRegistryName());
+			if (layers[i] < 0 || origins[i] < 0)
+				return null;
+			i++;
+		}
+		return new S2CSynchronizeOriginDelta(this.player.getId(), layers, origins, this.hadAllOrigins(), sequence);
+	}
+
+	/**
+	 * Returns a full synchronization packet, which isn't acknowledged by the client.
+	 */
 	@NotNull
 	@Override
 	public S2CSynchronizeOrigin getSynchronizationPacket() {
-		return new S2CSynchronizeOrigin(this.player.getId(), this.getLayerMap(), this.hadAllOrigins());
+		return this.getSynchronizationPacket(0);
+	}
+
+	@NotNull
+	private S2CSynchronizeOrigin getSynchronizationPacket(int sequence) {
+		return new S2CSynchronizeOrigin(this.player.getId(), this.getLayerMap(), this.hadAllOrigins(), sequence);
 	}
 
 	@NotNull
 	private Map<ResourceLocation, ResourceLocation> getLayerMap() {
 		ImmutableMap.Builder<ResourceLocation, ResourceLocation> builder = ImmutableMap.builder();
 		Registry<OriginLayer> layers = OriginsAPI.getLayersRegistry();
-		this.layers.forEach((layer, origin) -> {
+		this.getOrigins().forEach((layer, origin) -> {
 			ResourceLocation key = layers.getKey(layer);
 			ResourceLocation value = origin.getRegistryName();
 			if (key != null && value != null)
@@ -176,6 +506,7 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 
 	@Override
 	public boolean checkAutoChoosingLayers(boolean includeDefaults) {
+		long start = OriginsProfiler.start();
 		boolean choseOneAutomatically = false;
 		Registry<Origin> registry = OriginsAPI.getOriginsRegistry();
 		for (OriginLayer layer : OriginsAPI.getActiveLayers()) {
@@ -200,6 +531,7 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 			if (!shouldContinue)
 				break;
 		}
+		OriginsProfiler.end(OriginsProfiler.Section.AUTO_CHOOSE, start);
 		return choseOneAutomatically;
 	}
 
@@ -219,6 +551,11 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 	@Override
 	public void onReload() {
 		this.cleanupPowers = true;
+		this.invalidateConditions();
+		if (!this.player.level.isClientSide() && !this.reconciliationQueued) {
+			this.reconciliationQueued = true;
+			PowerReconciliationQueue.INSTANCE.enqueue(this);
+		}
 	}
 
 	private final Lazy<OriginComponent> component = Lazy.of(() -> new PlayerOriginComponent(this));
@@ -237,13 +574,28 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 	}
 
 	public void acceptSynchronization(Map<ResourceLocation, ResourceLocation> map, boolean hadAllOrigins) {
-		this.layers.clear();
+		this.clear();
+		this.invalidateConditions();
 		Registry<OriginLayer> layers = OriginsAPI.getLayersRegistry();
 		Registry<Origin> origins = OriginsAPI.getOriginsRegistry();
-		map.forEach((layer, origin) -> layers.getOptional(layer).ifPresent(l -> origins.getOptional(origin).ifPresent(o -> this.layers.put(l, o))));
+		map.forEach((layer, origin) -> layers.getOptional(layer).ifPresent(l -> origins.getOptional(origin).ifPresent(o -> this.put(l, o))));
 		this.hadAllOrigins.set(hadAllOrigins);
 	}
 
+	/**
+	 * Applies a synchronization that only contains the changed layers, keeping the other ones.
+	 */
+	public void acceptPartialSynchronization(Map<ResourceLocation, ResourceLocation> map, boolean hadAllOrigins) {
+		this.invalidateConditions();
+		Registry<OriginLayer> layers = OriginsAPI.getLayersRegistry();
+		Registry<Origin> origins = OriginsAPI.getOriginsRegistry();
+		map.forEach((layer, origin) -> layers.getOptional(layer).ifPresent(l -> origins.getOptional(origin).ifPresent(o -> this.put(l, o))));
+		this.hadAllOrigins.set(hadAllOrigins);
+	}
+
+	/**
+	 * Writes the origins of this container as a compound mapping layer ids to origin ids.
+	 */
 	@Override
 	public Tag serializeNBT() {
 		CompoundTag tag = new CompoundTag();
@@ -262,13 +614,58 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 		return tag;
 	}
 
+	/**
+	 * Restores the origins of this container, in either format.<br>
+	 * Powers and criteria are left untouched: the power container restores its own powers,
+	 * and the next tick reconciles them with the restored origins.
+	 */
 	@Override
 	public void deserializeNBT(Tag nbt) {
-		this.layers.clear();
+		this.clear();
 		CompoundTag tag = (CompoundTag) nbt;
-		CompoundTag layers = tag.getCompound("Origins");
-		Registry<OriginLayer> registry = OriginsAPI.getLayersRegistry();
-		Registry<Origin> origins = OriginsAPI.getOriginsRegistry();
+		//Data written by builds that used the compact format has no Origins compound.
+		if (!tag.contains("Origins", Tag.TAG_COMPOUND) && tag.contains("Version", Tag.TAG_INT))
+			this.readCompact(tag);
+		else
+			this.readLegacy(tag.getCompound("Origins"));
+		this.hadAllOrigins.set(tag.getBoolean("HadAllOrigins"));
+		this.invalidateConditions();
+		PowerPresence.invalidate(this.player);
+		this.cleanupPowers = true;
+		this.powerGeneration = 0;
+		this.synchronize();
+	}
+
+	private void readCompact(CompoundTag tag) {
+		int version = tag.getInt("Version");
+		if (version != FORMAT_VERSION) {
+			Origins.LOGGER.error("Unable to read origins of version {} on entity {}", version, this.player.getScoreboardName());
+			return;
+		}
+		ListTag idList = tag.getList("Ids", Tag.TAG_STRING);
+		ResourceLocation[] ids = new ResourceLocation[idList.size()];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = ResourceLocation.tryParse(idList.getString(i));
+		FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(tag.getByteArray("Data")));
+		try {
+			int size = buf.readVarInt();
+			for (int i = 0; i < size; i++) {
+				int layer = buf.readVarInt();
+				int origin = buf.readVarInt();
+				ResourceLocation layerName = layer >= 0 && layer < ids.length ? ids[layer] : null;
+				ResourceLocation originName = origin >= 0 && origin < ids.length ? ids[origin] : null;
+				if (layerName == null || originName == null) {
+					Origins.LOGGER.warn("Invalid entry {}: {} found on entity {}", layer, origin, this.player.getScoreboardName());
+					continue;
+				}
+				this.restore(layerName, originName);
+			}
+		} catch (IndexOutOfBoundsException | DecoderException e) {
+			Origins.LOGGER.warn("Truncated origin data found on entity {}", this.player.getScoreboardName(), e);
+		}
+	}
+
+	private void readLegacy(CompoundTag layers) {
 		for (String key : layers.getAllKeys()) {
 			String origin = layers.getString(key);
 			if (origin.isBlank())
@@ -278,33 +675,91 @@ public class OriginContainer implements IOriginContainer, ICapabilitySerializabl
 				Origins.LOGGER.warn("Invalid origin {} found for layer {} on entity {}", origin, key, this.player.getScoreboardName());
 				continue;
 			}
-			Origin origin1 = origins.get(orig);
-			if (origin1 == null) {
-				Origins.LOGGER.warn("Missing origin {} found for layer {} on entity {}", origin, key, this.player.getScoreboardName());
-				IPowerContainer.get(this.player).ifPresent(container -> container.removeAllPowersFromSource(OriginsAPI.getPowerSource(orig)));
-				continue;
-			}
 			ResourceLocation rl = ResourceLocation.tryParse(key);
 			if (rl == null) {
 				Origins.LOGGER.warn("Invalid layer found {} on entity {}", key, this.player.getScoreboardName());
-				IPowerContainer.get(this.player).ifPresent(container -> container.removeAllPowersFromSource(OriginsAPI.getPowerSource(origin1)));
-				continue;
-			}
-			OriginLayer layer = registry.get(rl);
-			if (layer == null) {
-				Origins.LOGGER.warn("Missing layer {} on entity {}", rl, this.player.getScoreboardName());
-				IPowerContainer.get(this.player).ifPresent(container -> container.removeAllPowersFromSource(OriginsAPI.getPowerSource(origin1)));
+				IPowerContainer.get(this.player).ifPresent(container -> container.removeAllPowersFromSource(OriginsAPI.getPowerSource(orig)));
 				continue;
 			}
-			this.setOrigin(layer, origin1);
+			this.restore(rl, orig);
 		}
-		this.hadAllOrigins.set(tag.getBoolean("HadAllOrigins"));
 	}
 
-	private final AtomicInteger syncCooldown = new AtomicInteger(0);
+	private void restore(ResourceLocation layerName, ResourceLocation originName) {
+		Origin origin = OriginsAPI.getOriginsRegistry().get(originName);
+		if (origin == null) {
+			Origins.LOGGER.warn("Missing origin {} found for layer {} on entity {}", originName, layerName, this.player.getScoreboardName());
+			IPowerContainer.get(this.player).ifPresent(container -> container.removeAllPowersFromSource(OriginsAPI.getPowerSource(originName)));
+			return;
+		}
+		OriginLayer layer = OriginsAPI.getLayersRegistry().get(layerName);
+		if (layer == null) {
+			Origins.LOGGER.warn("Missing layer {} on entity {}", layerName, this.player.getScoreboardName());
+			IPowerContainer.get(this.player).ifPresent(container -> container.removeAllPowersFromSource(OriginsAPI.getPowerSource(origin)));
+			return;
+		}
+		this.put(layer, origin);
+	}
+
+	/**
+	 * Copies the state of the given container, used when a player is cloned on respawn or when leaving the end.<br>
+	 * Unlike a round-trip through NBT, no power is granted and no criterion is triggered, as the powers
+	 * are carried over by the power container. The new entity still needs a full synchronization.
+	 *
+	 * @param other The container of the original player.
+	 */
+	public void transferFrom(@NotNull OriginContainer other) {
+		other.snapshot();
+		this.layers = other.layers.clone();
+		this.origins = other.origins.clone();
+		this.layerGeneration = other.layerGeneration;
+		this.detached.clear();
+		this.detached.putAll(other.detached);
+		this.originsView = null;
+		this.hadAllOrigins.set(other.hadAllOrigins.get());
+		this.powerGeneration = other.powerGeneration;
+		this.cleanupPowers = other.cleanupPowers;
+		//The original container is dropped from the queue once its owner is removed.
+		if (other.reconciliationQueued && !this.player.level.isClientSide()) {
+			this.reconciliationQueued = true;
+			PowerReconciliationQueue.INSTANCE.enqueue(this);
+		}
+		this.invalidateConditions();
+		PowerPresence.invalidate(this.player);
+		this.updateHolderIndex();
+		this.dirtyLayers.clear();
+		this.dirtyFull = true;
+		this.synchronize();
+	}
+
+	/**
+	 * Validates every pending synchronization, regardless of its sequence.
+	 */
 	@Override
 	public void validateSynchronization() {
-		this.synchronization.compareAndSet(true, false);
-		this.syncCooldown.set(0);
+		this.pendingLayers.clear();
+		this.pendingFull = false;
+		this.awaitedSequence = 0;
+		//Changes made after the last send still need to be synchronized.
+		if (this.dirtyLayers.isEmpty() && !this.dirtyFull)
+			this.synchronization.compareAndSet(true, false);
+	}
+
+	/**
+	 * Handles the acknowledgement of a synchronization by the owner of this container.<br>
+	 * Acknowledgements of older synchronizations are ignored, as they don't contain the latest changes.
+	 *
+	 * @param sequence The sequence of the acknowledged synchronization.
+	 */
+	public void acknowledgeSynchronization(int sequence) {
+		if (this.awaitedSequence != 0 && sequence == this.awaitedSequence)
+			this.validateSynchronization();
+	}
+
+	/**
+	 * Checks if this container sent a synchronization that wasn't acknowledged yet.
+	 */
+	public boolean isAwaitingAcknowledgement() {
+		return this.awaitedSequence != 0;
 	}
 }
@@ -0,0 +1,189 @@
+package io.github.edwinmindcraft.origins.common.capabilities;
+
+import com.google.common.collect.ImmutableList;
+import io.github.edwinmindcraft.origins.api.capabilities.IOriginContainer;
+import io.github.edwinmindcraft.origins.api.origin.Origin;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.common.util.FakePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Server-side reverse index from origins to the players that hold them, in any layer.<br>
+ * Each indexed player is given a dense slot, and each origin is mapped to the {@link BitSet} of slots holding it.
+ * The index is kept up to date by {@link OriginContainer} and must only be accessed from the server thread.
+ * Fake players aren't indexed, as they commonly share a UUID, and are checked on their container instead.
+ */
+public final class OriginHolderIndex {
+	public static final OriginHolderIndex INSTANCE = new OriginHolderIndex();
+
+	private final Object2IntMap<UUID> slots = new Object2IntOpenHashMap<>();
+	private final BitSet usedSlots = new BitSet();
+	private final Map<ResourceLocation, BitSet> holders = new HashMap<>();
+	private IOriginContainer[] containers = new IOriginContainer[16];
+	private ResourceLocation[][] held = new ResourceLocation[16][];
+
+	private OriginHolderIndex() {
+		this.slots.defaultReturnValue(-1);
+	}
+
+	private int allocate(UUID player) {
+		int slot = this.slots.getInt(player);
+		if (slot >= 0)
+			return slot;
+		slot = this.usedSlots.nextClearBit(0);
+		this.usedSlots.set(slot);
+		this.slots.put(player, slot);
+		if (slot >= this.containers.length) {
+			this.containers = Arrays.copyOf(this.containers, this.containers.length * 2);
+			this.held = Arrays.copyOf(this.held, this.held.length * 2);
+		}
+		return slot;
+	}
+
+	private void clearSlot(int slot) {
+		ResourceLocation[] previous = this.held[slot];
+		if (previous != null) {
+			for (ResourceLocation origin : previous) {
+				BitSet bits = this.holders.get(origin);
+				if (bits != null) {
+					bits.clear(slot);
+					if (bits.isEmpty())
+						this.holders.remove(origin);
+				}
+			}
+		}
+		this.held[slot] = null;
+		this.containers[slot] = null;
+	}
+
+	/**
+	 * Updates the origins held by the owner of the given container.
+	 *
+	 * @param container The container that was modified.
+	 */
+	public void update(@NotNull IOriginContainer container) {
+		if (container.getOwner() instanceof FakePlayer)
+			return;
+		int slot = this.allocate(container.getOwner().getUUID());
+		this.clearSlot(slot);
+		Set<ResourceLocation> current = new HashSet<>();
+		for (Origin origin : container.getOrigins().values()) {
+			ResourceLocation name = origin.getRegistryName();
+			if (name != null && current.add(name))
+				this.holders.computeIfAbsent(name, x -> new BitSet()).set(slot);
+		}
+		this.held[slot] = current.toArray(ResourceLocation[]::new);
+		this.containers[slot] = container;
+	}
+
+	/**
+	 * Removes the given player from the index, typically on logout.
+	 *
+	 * @param player The UUID of the player to remove.
+	 */
+	public void remove(@NotNull UUID player) {
+		int slot = this.slots.removeInt(player);
+		if (slot >= 0) {
+			this.clearSlot(slot);
+			this.usedSlots.clear(slot);
+		}
+	}
+
+	/**
+	 * Removes every player from the index.
+	 */
+	public void clear() {
+		this.slots.clear();
+		this.usedSlots.clear();
+		this.holders.clear();
+		Arrays.fill(this.containers, null);
+		Arrays.fill(this.held, null);
+	}
+
+	/**
+	 * Checks if the given entity holds the given origin in any layer.
+	 *
+	 * @param entity The entity to check.
+	 * @param origin The name of the origin.
+	 *
+	 * @return {@code true} if the entity is a player holding the origin, {@code false} otherwise.
+	 */
+	public boolean holds(@Nullable Entity entity, @NotNull ResourceLocation origin) {
+		if (!(entity instanceof Player))
+			return false;
+		if (entity instanceof FakePlayer)
+			return holdsDirect(entity, origin);
+		int slot = this.slots.getInt(entity.getUUID());
+		if (slot < 0)
+			return false;
+		BitSet bits = this.holders.get(origin);
+		return bits != null && bits.get(slot);
+	}
+
+	private static boolean holdsDirect(Entity entity, ResourceLocation origin) {
+		return IOriginContainer.get(entity).map(container -> container.getOrigins().values().stream().anyMatch(x -> origin.equals(x.getRegistryName()))).orElse(false);
+	}
+
+	/**
+	 * Counts the indexed players holding the given origin in any layer.
+	 *
+	 * @param origin The name of the origin.
+	 *
+	 * @return The amount of players holding the origin.
+	 */
+	public int countHolders(@NotNull ResourceLocation origin) {
+		BitSet bits = this.holders.get(origin);
+		return bits == null ? 0 : bits.cardinality();
+	}
+
+	/**
+	 * Counts the entities of the given collection that hold the given origin in any layer.
+	 *
+	 * @param origin   The name of the origin.
+	 * @param entities The entities to check.
+	 *
+	 * @return The amount of entities holding the origin.
+	 */
+	public int countHolders(@NotNull ResourceLocation origin, @NotNull Collection<? extends Entity> entities) {
+		BitSet bits = this.holders.get(origin);
+		int count = 0;
+		for (Entity entity : entities) {
+			if (entity instanceof FakePlayer) {
+				if (holdsDirect(entity, origin))
+					count++;
+				continue;
+			}
+			int slot = entity instanceof Player ? this.slots.getInt(entity.getUUID()) : -1;
+			if (slot >= 0 && bits != null && bits.get(slot))
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the players holding the given origin in any layer.
+	 *
+	 * @param origin The name of the origin.
+	 *
+	 * @return An immutable list of the players holding the given origin.
+	 */
+	public List<Player> getHolders(@NotNull ResourceLocation origin) {
+		BitSet bits = this.holders.get(origin);
+		if (bits == null)
+			return ImmutableList.of();
+		ImmutableList.Builder<Player> builder = ImmutableList.builder();
+		for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+			IOriginContainer container = this.containers[slot];
+			if (container != null)
+				builder.add(container.getOwner());
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,126 @@
+package io.github.edwinmindcraft.origins.common.capabilities;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import io.github.edwinmindcraft.apoli.api.ApoliAPI;
+import io.github.edwinmindcraft.apoli.api.power.configuration.ConfiguredPower;
+import io.github.edwinmindcraft.origins.api.OriginsAPI;
+import io.github.edwinmindcraft.origins.api.origin.Origin;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The powers granted by every origin, children included, computed once per registry generation.<br>
+ * Each generation also stores which powers were added to or removed from every origin since the previous one,
+ * so that containers that were up-to-date before a reload only have to apply that difference.
+ */
+public final class OriginPowerIndex {
+	@Nullable
+	private static volatile OriginPowerIndex current;
+
+	/**
+	 * Returns the index for the given server, building a new generation if the origins were reloaded.
+	 */
+	public static OriginPowerIndex get(@NotNull MinecraftServer server) {
+		Registry<Origin> origins = OriginsAPI.getOriginsRegistry(server);
+		OriginPowerIndex index = current;
+		if (index == null || index.stale || index.source != origins)
+			current = index = new OriginPowerIndex(origins, ApoliAPI.getPowers(server), index);
+		return index;
+	}
+
+	/**
+	 * Marks the current generation as outdated. It is kept to compute the difference with the next one.
+	 */
+	public static void invalidate() {
+		OriginPowerIndex index = current;
+		if (index != null)
+			index.stale = true;
+	}
+
+	/**
+	 * Drops every generation, typically when the server stops.
+	 */
+	public static void clear() {
+		current = null;
+	}
+
+	private final int generation;
+	private final Registry<Origin> source;
+	private final Map<ResourceLocation, Set<ResourceLocation>> powers;
+	private final Map<ResourceLocation, Delta> deltas;
+	private volatile boolean stale;
+
+	private OriginPowerIndex(Registry<Origin> origins, Registry<ConfiguredPower<?, ?>> registry, @Nullable OriginPowerIndex previous) {
+		this.generation = previous == null ? 1 : previous.generation + 1;
+		this.source = origins;
+		ImmutableMap.Builder<ResourceLocation, Set<ResourceLocation>> powers = ImmutableMap.builder();
+		ImmutableMap.Builder<ResourceLocation, Delta> deltas = ImmutableMap.builder();
+		for (Map.Entry<ResourceKey<Origin>, Origin> entry : origins.entrySet()) {
+			ResourceLocation name = entry.getKey().location();
+			Set<ResourceLocation> expanded = expand(entry.getValue(), registry);
+			powers.put(name, expanded);
+			if (previous != null) {
+				Set<ResourceLocation> old = previous.powers.getOrDefault(name, ImmutableSet.of());
+				if (!old.equals(expanded))
+					deltas.put(name, new Delta(Sets.difference(expanded, old).immutableCopy(), Sets.difference(old, expanded).immutableCopy()));
+			}
+		}
+		this.powers = powers.build();
+		this.deltas = deltas.build();
+	}
+
+	private static Set<ResourceLocation> expand(Origin origin, Registry<ConfiguredPower<?, ?>> registry) {
+		ImmutableSet.Builder<ResourceLocation> builder = ImmutableSet.builder();
+		for (ResourceLocation name : origin.getPowers()) {
+			ConfiguredPower<?, ?> power = registry.get(name);
+			if (power == null)
+				continue;
+			builder.add(name);
+			for (Holder<ConfiguredPower<?, ?>> child : power.getChildren()) {
+				if (child.isBound() && child.value().getRegistryName() != null)
+					builder.add(child.value().getRegistryName());
+			}
+		}
+		return builder.build();
+	}
+
+	public int generation() {
+		return this.generation;
+	}
+
+	/**
+	 * Checks if this index has a power set for the given origin.
+	 */
+	public boolean contains(@NotNull ResourceLocation origin) {
+		return this.powers.containsKey(origin);
+	}
+
+	/**
+	 * Returns the powers granted by the given origin, including children, or an empty set if the origin is unknown.
+	 */
+	public Set<ResourceLocation> getPowers(@NotNull ResourceLocation origin) {
+		return this.powers.getOrDefault(origin, ImmutableSet.of());
+	}
+
+	/**
+	 * Returns the powers added to and removed from the given origin since the previous generation.
+	 *
+	 * @return The difference, or {@code null} if the origin didn't change.
+	 */
+	@Nullable
+	public Delta getDelta(@NotNull ResourceLocation origin) {
+		return this.deltas.get(origin);
+	}
+
+	public record Delta(Set<ResourceLocation> added, Set<ResourceLocation> removed) {}
+}
@@ -0,0 +1,61 @@
+package io.github.edwinmindcraft.origins.common.capabilities;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.edwinmindcraft.origins.api.origin.Origin;
+import io.github.edwinmindcraft.origins.api.origin.OriginUpgrade;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maps every advancement referenced by an upgrade to the upgrade of each origin it applies to.<br>
+ * Built once per origins registry, so that advancements without upgrades are discarded with a single lookup.
+ */
+public final class OriginUpgradeIndex {
+	@Nullable
+	private static volatile OriginUpgradeIndex current;
+
+	/**
+	 * Returns the index of the given registry, building it if the origins were reloaded.
+	 */
+	public static OriginUpgradeIndex get(@NotNull Registry<Origin> origins) {
+		OriginUpgradeIndex index = current;
+		if (index == null || index.source != origins)
+			current = index = new OriginUpgradeIndex(origins);
+		return index;
+	}
+
+	public static void clear() {
+		current = null;
+	}
+
+	private final Registry<Origin> source;
+	private final Map<ResourceLocation, Map<ResourceLocation, OriginUpgrade>> upgrades;
+
+	private OriginUpgradeIndex(Registry<Origin> source) {
+		this.source = source;
+		Map<ResourceLocation, Map<ResourceLocation, OriginUpgrade>> upgrades = new HashMap<>();
+		for (Map.Entry<ResourceKey<Origin>, Origin> entry : source.entrySet()) {
+			ResourceLocation origin = entry.getKey().location();
+			//Only the first upgrade of an origin for a given advancement applies.
+			for (OriginUpgrade upgrade : entry.getValue().getUpgrades())
+				upgrades.computeIfAbsent(upgrade.advancement(), x -> new LinkedHashMap<>()).putIfAbsent(origin, upgrade);
+		}
+		ImmutableMap.Builder<ResourceLocation, Map<ResourceLocation, OriginUpgrade>> builder = ImmutableMap.builder();
+		upgrades.forEach((advancement, map) -> builder.put(advancement, ImmutableMap.copyOf(map)));
+		this.upgrades = builder.build();
+	}
+
+	/**
+	 * Returns the upgrades triggered by the given advancement, keyed by the name of the origin they upgrade.
+	 */
+	public Map<ResourceLocation, OriginUpgrade> getUpgrades(@NotNull ResourceLocation advancement) {
+		return this.upgrades.getOrDefault(advancement, ImmutableMap.of());
+	}
+}
@@ -0,0 +1,118 @@
+package io.github.edwinmindcraft.origins.common.capabilities;
+
+import io.github.edwinmindcraft.origins.common.OriginsConfigs;
+import io.github.edwinmindcraft.origins.common.network.OriginSyncScheduler;
+import net.minecraft.Util;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Spreads the power reconciliation that follows a reload across several ticks.<br>
+ * Every tick, queued containers are reconciled until the configured time budget is spent, starting with
+ * active players and players seen by many others. Until then, a player keeps the powers of the previous generation.
+ * Must only be accessed from the server thread.
+ */
+public final class PowerReconciliationQueue {
+	public static final PowerReconciliationQueue INSTANCE = new PowerReconciliationQueue();
+
+	//Players that acted in the last 30 seconds are considered active.
+	private static final long ACTIVE_THRESHOLD = 30_000L;
+
+	private final List<OriginContainer> incoming = new ArrayList<>();
+	private final Deque<OriginContainer> queue = new ArrayDeque<>();
+	private int total;
+	private int completed;
+	private long startTime;
+	private long endTime;
+
+	private PowerReconciliationQueue() {}
+
+	/**
+	 * Queues the given container for reconciliation.
+	 */
+	public void enqueue(@NotNull OriginContainer container) {
+		if (this.queue.isEmpty() && this.incoming.isEmpty()) {
+			this.total = 0;
+			this.completed = 0;
+			this.startTime = Util.getMillis();
+			this.endTime = 0;
+		}
+		this.incoming.add(container);
+		this.total++;
+	}
+
+	public void clear() {
+		this.incoming.clear();
+		this.queue.clear();
+		this.total = 0;
+		this.completed = 0;
+	}
+
+	private void prioritize() {
+		if (this.incoming.isEmpty())
+			return;
+		long now = Util.getMillis();
+		List<OriginContainer> all = new ArrayList<>(this.queue.size() + this.incoming.size());
+		all.addAll(this.queue);
+		all.addAll(this.incoming);
+		this.incoming.clear();
+		this.queue.clear();
+		all.sort(Comparator.<OriginContainer>comparingInt(container -> now - ((ServerPlayer) container.getOwner()).getLastActionTime() < ACTIVE_THRESHOLD ? 0 : 1)
+				.thenComparing(Comparator.comparingInt((OriginContainer container) -> OriginSyncScheduler.INSTANCE.getTrackerCount(container.getOwner())).reversed()));
+		this.queue.addAll(all);
+	}
+
+	/**
+	 * Reconciles queued containers until the time budget of this tick is spent.
+	 * At least one container is processed every tick, so that the queue always drains.
+	 */
+	public void tick(@NotNull MinecraftServer server) {
+		this.prioritize();
+		if (this.queue.isEmpty())
+			return;
+		OriginPowerIndex index = OriginPowerIndex.get(server);
+		long deadline = System.nanoTime() + OriginsConfigs.SERVER.reconciliationBudget() * 1000L;
+		do {
+			OriginContainer container = this.queue.poll();
+			if (!container.getOwner().isRemoved())
+				container.reconcilePowers(index);
+			this.completed++;
+		} while (!this.queue.isEmpty() && System.nanoTime() < deadline);
+		if (this.queue.isEmpty())
+			this.endTime = Util.getMillis();
+	}
+
+	/**
+	 * The amount of containers queued since the queue was last empty.
+	 */
+	public int getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * The amount of containers reconciled since the queue was last empty.
+	 */
+	public int getCompleted() {
+		return this.completed;
+	}
+
+	public int getPending() {
+		return this.queue.size() + this.incoming.size();
+	}
+
+	/**
+	 * How long, in milliseconds, the current or last reconciliation took.
+	 */
+	public long getElapsed() {
+		if (this.total == 0)
+			return 0;
+		return (this.getPending() == 0 ? this.endTime : Util.getMillis()) - this.startTime;
+	}
+}
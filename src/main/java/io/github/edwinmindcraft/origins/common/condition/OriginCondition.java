@@ -3,10 +3,11 @@ package io.github.edwinmindcraft.origins.common.condition;
 import io.github.edwinmindcraft.apoli.api.power.factory.EntityCondition;
 import io.github.edwinmindcraft.origins.api.OriginsAPI;
 import io.github.edwinmindcraft.origins.api.capabilities.IOriginContainer;
+import io.github.edwinmindcraft.origins.api.origin.Origin;
 import io.github.edwinmindcraft.origins.api.origin.OriginLayer;
+import io.github.edwinmindcraft.origins.common.capabilities.OriginHolderIndex;
 import io.github.edwinmindcraft.origins.common.condition.configuration.OriginConfiguration;
 import net.minecraft.world.entity.Entity;
-import net.minecraftforge.registries.ForgeRegistryEntry;
 import org.jetbrains.annotations.NotNull;
 
 public class OriginCondition extends EntityCondition<OriginConfiguration> {
@@ -16,12 +17,19 @@ public class OriginCondition extends EntityCondition<OriginConfiguration> {
 
 	@Override
 	public boolean check(@NotNull OriginConfiguration configuration, @NotNull Entity entity) {
+		//Server-side, the holder index answers layer-less checks without resolving the container.
+		if (configuration.layer() == null && !entity.level.isClientSide())
+			return OriginHolderIndex.INSTANCE.holds(entity, configuration.origin());
 		return IOriginContainer.get(entity).resolve().map(container -> {
 			if (configuration.layer() != null) {
 				OriginLayer layer = OriginsAPI.getLayersRegistry().get(configuration.layer());
 				return layer != null && configuration.origin().equals(container.getOrigin(layer).getRegistryName());
 			}
-			return container.getOrigins().values().stream().map(ForgeRegistryEntry::getRegistryName).anyMatch(configuration.origin()::equals);
+			for (Origin origin : container.getOrigins().values()) {
+				if (configuration.origin().equals(origin.getRegistryName()))
+					return true;
+			}
+			return false;
 		}).orElse(false);
 	}
 }
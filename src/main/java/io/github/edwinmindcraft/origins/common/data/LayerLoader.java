@@ -28,20 +28,36 @@ public enum LayerLoader implements DynamicEntryValidator<OriginLayer>, DynamicEn
 			.registerTypeAdapter(ConditionedOrigin.class, ConditionedOrigin.Serializer.INSTANCE)
 			.create();
 
+	private final LoadingTimings timings = new LoadingTimings("layers");
+
+	//Layers aren't cached across reloads like origins, as their conditions may be bound to the previous registries.
+	public void beginReload() {
+		this.timings.reset();
+	}
+
+	public void endReload() {
+		this.timings.log();
+	}
+
 	@Override
 	public OriginLayer accept(@NotNull ResourceLocation resourceLocation, List<JsonElement> list) {
-		Optional<PartialLayer> reduce = list.stream().flatMap(x -> {
+		long start = System.nanoTime();
+		List<PartialLayer> partials = list.stream().flatMap(x -> {
 			try {
 				return Stream.of(GSON.fromJson(x, PartialLayer.class));
 			} catch (Exception e) {
 				Origins.LOGGER.error("There was a problem reading Origin layer file {} (skipping): {}: {}", resourceLocation, e.getClass(), e.getMessage(), e);
 				return Stream.empty();
 			}
-		}).sorted(PartialLayer.LOADING_COMPARATOR).reduce(PartialLayer::merge);
-		if (reduce.isPresent())
-			return reduce.get().create(resourceLocation);
-		Origins.LOGGER.error("All instances of layer {} failed to load. Skipped", resourceLocation);
-		return null;
+		}).toList();
+		long parsed = System.nanoTime();
+		this.timings.parsed(list.size(), parsed - start);
+		Optional<PartialLayer> reduce = partials.stream().sorted(PartialLayer.LOADING_COMPARATOR).reduce(PartialLayer::merge);
+		OriginLayer layer = reduce.map(x -> x.create(resourceLocation)).orElse(null);
+		this.timings.merged(System.nanoTime() - parsed);
+		if (layer == null)
+			Origins.LOGGER.error("All instances of layer {} failed to load. Skipped", resourceLocation);
+		return layer;
 	}
 
 	@Override
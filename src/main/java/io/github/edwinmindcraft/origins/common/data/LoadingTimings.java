@@ -0,0 +1,51 @@
+package io.github.edwinmindcraft.origins.common.data;
+
+import io.github.apace100.origins.Origins;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the time spent in each phase of loading a registry, reported once the reload completes.<br>
+ * Entries may be loaded concurrently, so every counter is an adder.
+ */
+final class LoadingTimings {
+	private final String name;
+	private final LongAdder entries = new LongAdder();
+	private final LongAdder files = new LongAdder();
+	private final LongAdder cached = new LongAdder();
+	private final LongAdder parsing = new LongAdder();
+	private final LongAdder merging = new LongAdder();
+
+	LoadingTimings(String name) {
+		this.name = name;
+	}
+
+	void parsed(int files, long nanos) {
+		this.entries.increment();
+		this.files.add(files);
+		this.parsing.add(nanos);
+	}
+
+	void cached() {
+		this.entries.increment();
+		this.cached.increment();
+	}
+
+	void merged(long nanos) {
+		this.merging.add(nanos);
+	}
+
+	void reset() {
+		this.entries.reset();
+		this.files.reset();
+		this.cached.reset();
+		this.parsing.reset();
+		this.merging.reset();
+	}
+
+	void log() {
+		Origins.LOGGER.info("Loaded {} {} ({} unchanged) from {} files: parsing took {}ms, merging took {}ms", this.entries.sum(), this.name, this.cached.sum(), this.files.sum(),
+				TimeUnit.NANOSECONDS.toMillis(this.parsing.sum()), TimeUnit.NANOSECONDS.toMillis(this.merging.sum()));
+	}
+}
@@ -19,7 +19,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Stream;
 
 public enum OriginLoader implements DynamicEntryValidator<Origin>, DynamicEntryFactory<Origin> {
@@ -32,18 +31,45 @@ public enum OriginLoader implements DynamicEntryValidator<Origin>, DynamicEntryF
 			.registerTypeAdapter(OriginUpgrade.class, CalioCodecHelper.jsonAdapter(OriginUpgrade.CODEC))
 			.create();
 
+	private final LoadingTimings timings = new LoadingTimings("origins");
+	private final PartialCache<PartialOrigin> cache = new PartialCache<>();
+
+	public void beginReload() {
+		this.timings.reset();
+		this.cache.beginReload();
+	}
+
+	public void endReload() {
+		this.cache.endReload();
+		this.timings.log();
+	}
+
 	@Override
 	public @Nullable Origin accept(@NotNull ResourceLocation id, @NotNull List<JsonElement> list) {
-		Optional<Origin> origin = list.stream().flatMap(x -> {
-			try {
-				return Stream.of(GSON.fromJson(x, PartialOrigin.class));
-			} catch (Exception e) {
-				Origins.LOGGER.error("There was a problem reading Origin file " + id + " (skipping): " + e.getMessage());
-				return Stream.empty();
-			}
-		}).max(LOADING_ORDER).map(x -> x.create(id));
-		if (origin.isPresent())
-			return origin.get();
+		long start = System.nanoTime();
+		PartialOrigin partial = this.cache.get(id, list);
+		if (partial != null)
+			this.timings.cached();
+		else {
+			partial = list.stream().flatMap(x -> {
+				try {
+					return Stream.of(GSON.fromJson(x, PartialOrigin.class));
+				} catch (Exception e) {
+					Origins.LOGGER.error("There was a problem reading Origin file " + id + " (skipping): " + e.getMessage());
+					return Stream.empty();
+				}
+			}).max(LOADING_ORDER).orElse(null);
+			this.timings.parsed(list.size(), System.nanoTime() - start);
+			if (partial != null)
+				this.cache.put(id, list, partial);
+		}
+		if (partial != null) {
+			//Origins are always created anew, as registering them sets their name.
+			long merge = System.nanoTime();
+			Origin origin = partial.create(id);
+			this.timings.merged(System.nanoTime() - merge);
+			return origin;
+		}
 		Origins.LOGGER.error("All instances of origin {} failed to load. Skipped", id);
 		return null;
 	}
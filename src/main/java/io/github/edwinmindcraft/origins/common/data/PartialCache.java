@@ -0,0 +1,51 @@
+package io.github.edwinmindcraft.origins.common.data;
+
+import com.google.gson.JsonElement;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the merged partial of every entry across reloads, keyed by the contents of its files.<br>
+ * Entries whose files didn't change since the last reload reuse their partial instead of being parsed again.
+ * Entries that weren't loaded during a reload are dropped once it completes.
+ *
+ * @param <T> The type of partial.
+ */
+final class PartialCache<T> {
+	private record Entry<T>(int hash, List<JsonElement> source, T value, int generation) {}
+
+	private final Map<ResourceLocation, Entry<T>> entries = new ConcurrentHashMap<>();
+	private volatile int generation;
+
+	/**
+	 * Returns the partial previously built from the same files, or {@code null} if they changed.
+	 */
+	@Nullable
+	T get(@NotNull ResourceLocation id, @NotNull List<JsonElement> source) {
+		Entry<T> entry = this.entries.get(id);
+		//The hash only rejects quickly, equality is what guarantees the contents didn't change.
+		if (entry == null || entry.hash() != source.hashCode() || !entry.source().equals(source))
+			return null;
+		if (entry.generation() != this.generation)
+			this.entries.put(id, new Entry<>(entry.hash(), entry.source(), entry.value(), this.generation));
+		return entry.value();
+	}
+
+	void put(@NotNull ResourceLocation id, @NotNull List<JsonElement> source, @NotNull T value) {
+		this.entries.put(id, new Entry<>(source.hashCode(), List.copyOf(source), value, this.generation));
+	}
+
+	void beginReload() {
+		this.generation++;
+	}
+
+	void endReload() {
+		int generation = this.generation;
+		this.entries.values().removeIf(entry -> entry.generation() != generation);
+	}
+}
@@ -1,6 +1,7 @@
 package io.github.edwinmindcraft.origins.common.network;
 
 import io.github.edwinmindcraft.origins.api.capabilities.IOriginContainer;
+import io.github.edwinmindcraft.origins.common.capabilities.OriginContainer;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.network.NetworkEvent;
 
@@ -8,19 +9,34 @@ import java.util.function.Supplier;
 
 public class C2SAcknowledgeOrigins {
 	public static C2SAcknowledgeOrigins decode(FriendlyByteBuf buf) {
-		return new C2SAcknowledgeOrigins();
+		return new C2SAcknowledgeOrigins(buf.readVarInt());
 	}
 
-	public C2SAcknowledgeOrigins() {
+	private final int sequence;
 
+	/**
+	 * @param sequence The sequence of the synchronization of the sender's own origins being acknowledged.
+	 */
+	public C2SAcknowledgeOrigins(int sequence) {
+		this.sequence = sequence;
 	}
 
 	public void encode(FriendlyByteBuf buf) {
-
+		buf.writeVarInt(this.sequence);
 	}
 
 	public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
-		contextSupplier.get().enqueueWork(() -> IOriginContainer.get(contextSupplier.get().getSender()).ifPresent(IOriginContainer::validateSynchronization));
+		contextSupplier.get().enqueueWork(() -> IOriginContainer.get(contextSupplier.get().getSender()).ifPresent(container -> {
+			if (container instanceof OriginContainer originContainer)
+				originContainer.acknowledgeSynchronization(this.sequence);
+			else
+				container.validateSynchronization();
+		}));
 		contextSupplier.get().setPacketHandled(true);
 	}
+
+	@Override
+	public String toString() {
+		return "C2SAcknowledgeOrigins[sequence=" + this.sequence + "]";
+	}
 }
@@ -0,0 +1,122 @@
+package io.github.edwinmindcraft.origins.common.network;
+
+import com.google.common.collect.ImmutableList;
+import io.github.edwinmindcraft.origins.api.OriginsAPI;
+import io.github.edwinmindcraft.origins.api.origin.Origin;
+import io.github.edwinmindcraft.origins.api.origin.OriginLayer;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Maps layer and origin names to compact network ids.<br>
+ * The server builds its table from its registries, and sends it to clients on datapack synchronization
+ * using {@link S2CSynchronizeOriginIds}. Packets referring to these ids must only be sent after the table.
+ */
+public final class OriginNetworkIds {
+	public static final OriginNetworkIds EMPTY = new OriginNetworkIds(null, null, ImmutableList.of(), ImmutableList.of());
+
+	@Nullable
+	private static volatile OriginNetworkIds server;
+	private static volatile OriginNetworkIds client = EMPTY;
+
+	/**
+	 * Returns the table for the given server, building it if the registries changed.
+	 */
+	public static OriginNetworkIds server(@NotNull MinecraftServer server) {
+		Registry<OriginLayer> layers = OriginsAPI.getLayersRegistry(server);
+		Registry<Origin> origins = OriginsAPI.getOriginsRegistry(server);
+		OriginNetworkIds table = OriginNetworkIds.server;
+		if (table == null || table.layerSource != layers || table.originSource != origins)
+			OriginNetworkIds.server = table = new OriginNetworkIds(layers, origins, sorted(layers), sorted(origins));
+		return table;
+	}
+
+	/**
+	 * Drops the server table, which will be rebuilt on next access.
+	 */
+	public static void invalidateServer() {
+		server = null;
+	}
+
+	/**
+	 * Returns the last table received from the server.
+	 */
+	public static OriginNetworkIds client() {
+		return client;
+	}
+
+	static void acceptClient(List<ResourceLocation> layers, List<ResourceLocation> origins) {
+		client = new OriginNetworkIds(null, null, layers, origins);
+	}
+
+	private static List<ResourceLocation> sorted(Registry<?> registry) {
+		return registry.keySet().stream().sorted().collect(ImmutableList.toImmutableList());
+	}
+
+	@Nullable
+	private final Registry<OriginLayer> layerSource;
+	@Nullable
+	private final Registry<Origin> originSource;
+	private final List<ResourceLocation> layers;
+	private final List<ResourceLocation> origins;
+	private final Object2IntMap<ResourceLocation> layerIds;
+	private final Object2IntMap<ResourceLocation> originIds;
+
+	private OriginNetworkIds(@Nullable Registry<OriginLayer> layerSource, @Nullable Registry<Origin> originSource, List<ResourceLocation> layers, List<ResourceLocation> origins) {
+		this.layerSource = layerSource;
+		this.originSource = originSource;
+		this.layers = ImmutableList.copyOf(layers);
+		this.origins = ImmutableList.copyOf(origins);
+		this.layerIds = index(this.layers);
+		this.originIds = index(this.origins);
+	}
+
+	private static Object2IntMap<ResourceLocation> index(List<ResourceLocation> names) {
+		Object2IntMap<ResourceLocation> ids = new Object2IntOpenHashMap<>(names.size());
+		ids.defaultReturnValue(-1);
+		for (int i = 0; i < names.size(); i++)
+			ids.put(names.get(i), i);
+		return ids;
+	}
+
+	/**
+	 * @return The id of the given layer, or {@code -1} if it isn't part of this table.
+	 */
+	public int layerId(@Nullable ResourceLocation layer) {
+		return layer == null ? -1 : this.layerIds.getInt(layer);
+	}
+
+	/**
+	 * @return The id of the given origin, or {@code -1} if it isn't part of this table.
+	 */
+	public int originId(@Nullable ResourceLocation origin) {
+		return origin == null ? -1 : this.originIds.getInt(origin);
+	}
+
+	/**
+	 * @return The name of the layer with the given id, or {@code null} if the id is unknown.
+	 */
+	@Nullable
+	public ResourceLocation layer(int id) {
+		return id >= 0 && id < this.layers.size() ? this.layers.get(id) : null;
+	}
+
+	/**
+	 * @return The name of the origin with the given id, or {@code null} if the id is unknown.
+	 */
+	@Nullable
+	public ResourceLocation origin(int id) {
+		return id >= 0 && id < this.origins.size() ? this.origins.get(id) : null;
+	}
+
+	public S2CSynchronizeOriginIds createPacket() {
+		return new S2CSynchronizeOriginIds(this.layers, this.origins);
+	}
+}
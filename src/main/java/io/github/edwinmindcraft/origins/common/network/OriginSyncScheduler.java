@@ -0,0 +1,231 @@
+package io.github.edwinmindcraft.origins.common.network;
+
+import com.google.common.collect.ImmutableList;
+import io.github.apace100.origins.Origins;
+import io.github.edwinmindcraft.origins.common.OriginsCommon;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.network.PacketDistributor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Collects the origin synchronizations requested during a server tick, and sends them at the end of the tick
+ * as a single {@link S2CSynchronizeOriginBatch} per recipient.<br>
+ * Recipients are the synchronized player and every player tracking it, as reported by tracking events.
+ * Must only be accessed from the server thread.
+ */
+public final class OriginSyncScheduler {
+	public static final OriginSyncScheduler INSTANCE = new OriginSyncScheduler();
+
+	private final Map<ServerPlayer, S2CSynchronizeOrigin> full = new LinkedHashMap<>();
+	private final Map<ServerPlayer, S2CSynchronizeOriginDelta> deltas = new LinkedHashMap<>();
+	private final Set<ServerPlayer> ownerOnly = new HashSet<>();
+	//Entries are removed on logout and on clone, see OriginsEventHandler.
+	private final Map<Player, Set<ServerPlayer>> trackers = new HashMap<>();
+
+	private final LongAdder totalPackets = new LongAdder();
+	private final LongAdder totalBytes = new LongAdder();
+	private int lastTickPackets;
+	private int lastTickBytes;
+	private int lastTickUpdates;
+
+	private OriginSyncScheduler() {}
+
+	/**
+	 * Queues a full synchronization of the given player, replacing any update queued this tick.
+	 *
+	 * @param ownerOnly If {@code true}, the update is only sent to the player itself, and not to the players tracking it.
+	 */
+	public void queue(@NotNull ServerPlayer player, @NotNull S2CSynchronizeOrigin packet, boolean ownerOnly) {
+		this.deltas.remove(player);
+		this.full.put(player, packet);
+		this.setOwnerOnly(player, ownerOnly);
+	}
+
+	/**
+	 * Queues a partial synchronization of the given player, replacing any update queued this tick.
+	 *
+	 * @param ownerOnly If {@code true}, the update is only sent to the player itself, and not to the players tracking it.
+	 */
+	public void queue(@NotNull ServerPlayer player, @NotNull S2CSynchronizeOriginDelta packet, boolean ownerOnly) {
+		this.full.remove(player);
+		this.deltas.put(player, packet);
+		this.setOwnerOnly(player, ownerOnly);
+	}
+
+	private void setOwnerOnly(ServerPlayer player, boolean ownerOnly) {
+		if (ownerOnly)
+			this.ownerOnly.add(player);
+		else
+			this.ownerOnly.remove(player);
+	}
+
+	public void startTracking(@NotNull Player target, @NotNull ServerPlayer tracker) {
+		this.trackers.computeIfAbsent(target, x -> new HashSet<>()).add(tracker);
+	}
+
+	public void stopTracking(@NotNull Player target, @NotNull ServerPlayer tracker) {
+		if (target.isRemoved()) {
+			this.trackers.remove(target);
+			return;
+		}
+		Set<ServerPlayer> set = this.trackers.get(target);
+		if (set != null) {
+			set.remove(tracker);
+			set.removeIf(x -> x.isRemoved() || x.hasDisconnected());
+			if (set.isEmpty())
+				this.trackers.remove(target);
+		}
+	}
+
+	/**
+	 * Returns the amount of players known to be tracking the given player.
+	 */
+	public int getTrackerCount(@NotNull Player target) {
+		Set<ServerPlayer> set = this.trackers.get(target);
+		return set == null ? 0 : set.size();
+	}
+
+	/**
+	 * Removes the given player from the scheduler, both as a target and as a tracker.<br>
+	 * Must be called when a player logs out or is replaced by a clone.
+	 */
+	public void remove(@NotNull Player player) {
+		this.trackers.remove(player);
+		if (player instanceof ServerPlayer sp) {
+			this.full.remove(sp);
+			this.deltas.remove(sp);
+			this.ownerOnly.remove(sp);
+			this.trackers.values().removeIf(set -> set.remove(sp) && set.isEmpty());
+		}
+	}
+
+	public void clear() {
+		this.full.clear();
+		this.deltas.clear();
+		this.ownerOnly.clear();
+		this.trackers.clear();
+	}
+
+	private <T> void collect(Map<ServerPlayer, T> updates, Map<ServerPlayer, Batch> batches, ToIntFunction<T> sizer, Batch.Adder<T> add) {
+		updates.forEach((player, packet) -> {
+			//Shared by every recipient, so it is only computed once.
+			int size = sizer.applyAsInt(packet);
+			add.accept(batches.computeIfAbsent(player, x -> new Batch()), packet, size);
+			Set<ServerPlayer> set = this.trackers.get(player);
+			if (set == null || this.ownerOnly.contains(player))
+				return;
+			for (Iterator<ServerPlayer> iterator = set.iterator(); iterator.hasNext(); ) {
+				ServerPlayer tracker = iterator.next();
+				//Tracking events aren't fired for every removal, so stale trackers are dropped here.
+				if (tracker.isRemoved() || tracker.hasDisconnected()) {
+					iterator.remove();
+					continue;
+				}
+				if (tracker != player && tracker.level == player.level)
+					add.accept(batches.computeIfAbsent(tracker, x -> new Batch()), packet, size);
+			}
+		});
+	}
+
+	/**
+	 * Sends every queued synchronization. Called at the end of each server tick.
+	 */
+	public void flush() {
+		if (this.full.isEmpty() && this.deltas.isEmpty()) {
+			this.lastTickPackets = 0;
+			this.lastTickBytes = 0;
+			this.lastTickUpdates = 0;
+			return;
+		}
+		Map<ServerPlayer, Batch> batches = new LinkedHashMap<>();
+		this.collect(this.full, batches, S2CSynchronizeOrigin::getEncodedSize, Batch::add);
+		this.collect(this.deltas, batches, S2CSynchronizeOriginDelta::getEncodedSize, Batch::add);
+		this.lastTickUpdates = this.full.size() + this.deltas.size();
+		this.full.clear();
+		this.deltas.clear();
+		this.ownerOnly.clear();
+
+		int bytes = 0;
+		for (Map.Entry<ServerPlayer, Batch> entry : batches.entrySet()) {
+			Batch batch = entry.getValue();
+			bytes += batch.getEncodedSize();
+			OriginsCommon.CHANNEL.send(PacketDistributor.PLAYER.with(entry::getKey), batch.build());
+		}
+		this.lastTickPackets = batches.size();
+		this.lastTickBytes = bytes;
+		this.totalPackets.add(batches.size());
+		this.totalBytes.add(bytes);
+		Origins.LOGGER.debug("Sent {} origin updates in {} packets ({} bytes)", this.lastTickUpdates, this.lastTickPackets, this.lastTickBytes);
+	}
+
+	/**
+	 * The amount of players whose origins were synchronized during the last flush.
+	 */
+	public int getLastTickUpdates() {
+		return this.lastTickUpdates;
+	}
+
+	/**
+	 * The amount of packets sent during the last flush.
+	 */
+	public int getLastTickPackets() {
+		return this.lastTickPackets;
+	}
+
+	/**
+	 * The amount of bytes sent during the last flush, excluding the channel overhead.
+	 */
+	public int getLastTickBytes() {
+		return this.lastTickBytes;
+	}
+
+	public long getTotalPackets() {
+		return this.totalPackets.sum();
+	}
+
+	public long getTotalBytes() {
+		return this.totalBytes.sum();
+	}
+
+	private static final class Batch {
+		private final ImmutableList.Builder<S2CSynchronizeOrigin> full = ImmutableList.builder();
+		private final ImmutableList.Builder<S2CSynchronizeOriginDelta> deltas = ImmutableList.builder();
+		private int fullCount;
+		private int deltaCount;
+		private int entriesSize;
+
+		void add(S2CSynchronizeOrigin packet, int size) {
+			this.full.add(packet);
+			this.fullCount++;
+			this.entriesSize += size;
+		}
+
+		void add(S2CSynchronizeOriginDelta packet, int size) {
+			this.deltas.add(packet);
+			this.deltaCount++;
+			this.entriesSize += size;
+		}
+
+		/**
+		 * Returns the amount of bytes written by {@link S2CSynchronizeOriginBatch#encode(FriendlyByteBuf)}.
+		 */
+		int getEncodedSize() {
+			return FriendlyByteBuf.getVarIntSize(this.fullCount) + FriendlyByteBuf.getVarIntSize(this.deltaCount) + this.entriesSize;
+		}
+
+		S2CSynchronizeOriginBatch build() {
+			return new S2CSynchronizeOriginBatch(this.full.build(), this.deltas.build());
+		}
+
+		@FunctionalInterface
+		interface Adder<T> {
+			void accept(Batch batch, T packet, int size);
+		}
+	}
+}
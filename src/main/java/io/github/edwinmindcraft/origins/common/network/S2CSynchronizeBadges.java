@@ -1,6 +1,6 @@
 package io.github.edwinmindcraft.origins.common.network;
 
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import io.github.apace100.origins.badge.Badge;
 import io.github.apace100.origins.badge.BadgeManager;
@@ -14,7 +14,8 @@ import java.util.function.Supplier;
 
 public record S2CSynchronizeBadges(Multimap<ResourceLocation, Badge> badges) {
 	public static S2CSynchronizeBadges decode(FriendlyByteBuf buf) {
-		Multimap<ResourceLocation, Badge> badges = HashMultimap.create();
+		//Keeps the order of the badges of each power.
+		Multimap<ResourceLocation, Badge> badges = ArrayListMultimap.create();
 		int size = buf.readVarInt();
 		for (int i = 0; i < size; i++) {
 			ResourceLocation rl = buf.readResourceLocation();
@@ -37,10 +38,7 @@ public record S2CSynchronizeBadges(Multimap<ResourceLocation, Badge> badges) {
 	}
 
 	public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
-		contextSupplier.get().enqueueWork(() -> {
-			BadgeManager.clear();
-			this.badges.forEach(BadgeManager::putPowerBadge);
-		});
+		contextSupplier.get().enqueueWork(() -> BadgeManager.publish(this.badges()));
 		contextSupplier.get().setPacketHandled(true);
 	}
 }
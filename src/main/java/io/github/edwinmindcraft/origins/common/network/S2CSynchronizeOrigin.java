@@ -5,6 +5,7 @@ import io.github.edwinmindcraft.origins.api.OriginsAPI;
 import io.github.edwinmindcraft.origins.client.OriginsClientUtils;
 import io.github.edwinmindcraft.origins.common.OriginsCommon;
 import io.github.edwinmindcraft.origins.common.capabilities.OriginContainer;
+import io.netty.buffer.ByteBufUtil;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.Entity;
@@ -17,7 +18,15 @@ import net.minecraftforge.network.PacketDistributor;
 import java.util.Map;
 import java.util.function.Supplier;
 
-public record S2CSynchronizeOrigin(int entity, Map<ResourceLocation, ResourceLocation> origins, boolean hadAllOrigins) {
+/**
+ * Carries every origin of an entity.<br>
+ * Packets with a non-zero sequence are acknowledged by the owner of the entity, see {@link C2SAcknowledgeOrigins}.
+ */
+public record S2CSynchronizeOrigin(int entity, Map<ResourceLocation, ResourceLocation> origins, boolean hadAllOrigins, int sequence) {
+
+	public S2CSynchronizeOrigin(int entity, Map<ResourceLocation, ResourceLocation> origins, boolean hadAllOrigins) {
+		this(entity, origins, hadAllOrigins, 0);
+	}
 
 	public void encode(FriendlyByteBuf buf) {
 		buf.writeInt(this.entity());
@@ -27,6 +36,22 @@ public record S2CSynchronizeOrigin(int entity, Map<ResourceLocation, ResourceLoc
 			buf.writeResourceLocation(origin);
 		});
 		buf.writeBoolean(this.hadAllOrigins());
+		buf.writeVarInt(this.sequence());
+	}
+
+	/**
+	 * Returns the amount of bytes written by {@link #encode(FriendlyByteBuf)}, without encoding this packet.
+	 */
+	public int getEncodedSize() {
+		int size = 4 + FriendlyByteBuf.getVarIntSize(this.origins().size()) + 1 + FriendlyByteBuf.getVarIntSize(this.sequence());
+		for (Map.Entry<ResourceLocation, ResourceLocation> entry : this.origins().entrySet())
+			size += getEncodedSize(entry.getKey()) + getEncodedSize(entry.getValue());
+		return size;
+	}
+
+	private static int getEncodedSize(ResourceLocation location) {
+		int length = ByteBufUtil.utf8Bytes(location.toString());
+		return FriendlyByteBuf.getVarIntSize(length) + length;
 	}
 
 	public static S2CSynchronizeOrigin decode(FriendlyByteBuf buf) {
@@ -37,21 +62,34 @@ public record S2CSynchronizeOrigin(int entity, Map<ResourceLocation, ResourceLoc
 			builder.put(buf.readResourceLocation(), buf.readResourceLocation());
 		}
 		boolean hadAll = buf.readBoolean();
-		return new S2CSynchronizeOrigin(entity, builder.build(), hadAll);
+		int sequence = buf.readVarInt();
+		return new S2CSynchronizeOrigin(entity, builder.build(), hadAll, sequence);
+	}
+
+	/**
+	 * Applies this synchronization to the client-side entity.
+	 *
+	 * @return {@code true} if this synchronization was applied to the local player and must be acknowledged.
+	 */
+	boolean apply() {
+		Level level = DistExecutor.safeCallWhenOn(Dist.CLIENT, () -> OriginsClientUtils::getClientLevel);
+		if (level == null) return false;
+		Entity entity = level.getEntity(this.entity());
+		if (entity == null) return false;
+		boolean applied = entity.getCapability(OriginsAPI.ORIGIN_CONTAINER).map(x -> {
+			if (x instanceof OriginContainer container) {
+				container.acceptSynchronization(this.origins(), this.hadAllOrigins());
+				return true;
+			}
+			return false;
+		}).orElse(false);
+		return applied && this.sequence() != 0 && entity == DistExecutor.safeCallWhenOn(Dist.CLIENT, () -> OriginsClientUtils::getClientPlayer);
 	}
 
 	public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
 		contextSupplier.get().enqueueWork(() -> {
-			Level level = DistExecutor.safeCallWhenOn(Dist.CLIENT, () -> OriginsClientUtils::getClientLevel);
-			if (level == null) return;
-			Entity entity = level.getEntity(this.entity());
-			if (entity == null) return;
-			entity.getCapability(OriginsAPI.ORIGIN_CONTAINER).ifPresent(x -> {
-				if (x instanceof OriginContainer container) {
-					container.acceptSynchronization(this.origins(), this.hadAllOrigins());
-					OriginsCommon.CHANNEL.send(PacketDistributor.SERVER.noArg(), new C2SAcknowledgeOrigins());
-				}
-			});
+			if (this.apply())
+				OriginsCommon.CHANNEL.send(PacketDistributor.SERVER.noArg(), new C2SAcknowledgeOrigins(this.sequence()));
 		});
 		contextSupplier.get().setPacketHandled(true);
 	}
@@ -0,0 +1,53 @@
+package io.github.edwinmindcraft.origins.common.network;
+
+import com.google.common.collect.ImmutableList;
+import io.github.edwinmindcraft.origins.common.OriginsCommon;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+import net.minecraftforge.network.PacketDistributor;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Every origin synchronization a client needs for a given tick, sent as a single packet.
+ */
+public record S2CSynchronizeOriginBatch(List<S2CSynchronizeOrigin> full, List<S2CSynchronizeOriginDelta> deltas) {
+
+	public void encode(FriendlyByteBuf buf) {
+		buf.writeVarInt(this.full().size());
+		this.full().forEach(packet -> packet.encode(buf));
+		buf.writeVarInt(this.deltas().size());
+		this.deltas().forEach(packet -> packet.encode(buf));
+	}
+
+	public static S2CSynchronizeOriginBatch decode(FriendlyByteBuf buf) {
+		int size = buf.readVarInt();
+		ImmutableList.Builder<S2CSynchronizeOrigin> full = ImmutableList.builderWithExpectedSize(size);
+		for (int i = 0; i < size; i++)
+			full.add(S2CSynchronizeOrigin.decode(buf));
+		size = buf.readVarInt();
+		ImmutableList.Builder<S2CSynchronizeOriginDelta> deltas = ImmutableList.builderWithExpectedSize(size);
+		for (int i = 0; i < size; i++)
+			deltas.add(S2CSynchronizeOriginDelta.decode(buf));
+		return new S2CSynchronizeOriginBatch(full.build(), deltas.build());
+	}
+
+	public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
+		contextSupplier.get().enqueueWork(() -> {
+			//Only the local player's own update is acknowledged.
+			int acknowledged = 0;
+			for (S2CSynchronizeOrigin packet : this.full()) {
+				if (packet.apply())
+					acknowledged = packet.sequence();
+			}
+			for (S2CSynchronizeOriginDelta packet : this.deltas()) {
+				if (packet.apply())
+					acknowledged = packet.sequence();
+			}
+			if (acknowledged != 0)
+				OriginsCommon.CHANNEL.send(PacketDistributor.SERVER.noArg(), new C2SAcknowledgeOrigins(acknowledged));
+		});
+		contextSupplier.get().setPacketHandled(true);
+	}
+}
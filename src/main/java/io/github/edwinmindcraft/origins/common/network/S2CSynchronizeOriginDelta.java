@@ -0,0 +1,99 @@
+package io.github.edwinmindcraft.origins.common.network;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.apace100.origins.Origins;
+import io.github.edwinmindcraft.origins.api.OriginsAPI;
+import io.github.edwinmindcraft.origins.client.OriginsClientUtils;
+import io.github.edwinmindcraft.origins.common.OriginsCommon;
+import io.github.edwinmindcraft.origins.common.capabilities.OriginContainer;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+import net.minecraftforge.network.PacketDistributor;
+
+import java.util.function.Supplier;
+
+/**
+ * Carries the origins of the layers that changed since the last synchronization,
+ * using the ids of {@link OriginNetworkIds}.<br>
+ * Packets with a non-zero sequence are acknowledged by the owner of the entity, see {@link C2SAcknowledgeOrigins}.
+ */
+public record S2CSynchronizeOriginDelta(int entity, int[] layers, int[] origins, boolean hadAllOrigins, int sequence) {
+
+	public void encode(FriendlyByteBuf buf) {
+		buf.writeInt(this.entity());
+		buf.writeVarInt(this.layers().length);
+		for (int i = 0; i < this.layers().length; i++) {
+			buf.writeVarInt(this.layers()[i]);
+			buf.writeVarInt(this.origins()[i]);
+		}
+		buf.writeBoolean(this.hadAllOrigins());
+		buf.writeVarInt(this.sequence());
+	}
+
+	/**
+	 * Returns the amount of bytes written by {@link #encode(FriendlyByteBuf)}, without encoding this packet.
+	 */
+	public int getEncodedSize() {
+		int size = 4 + FriendlyByteBuf.getVarIntSize(this.layers().length) + 1 + FriendlyByteBuf.getVarIntSize(this.sequence());
+		for (int i = 0; i < this.layers().length; i++)
+			size += FriendlyByteBuf.getVarIntSize(this.layers()[i]) + FriendlyByteBuf.getVarIntSize(this.origins()[i]);
+		return size;
+	}
+
+	public static S2CSynchronizeOriginDelta decode(FriendlyByteBuf buf) {
+		int entity = buf.readInt();
+		int size = buf.readVarInt();
+		int[] layers = new int[size];
+		int[] origins = new int[size];
+		for (int i = 0; i < size; i++) {
+			layers[i] = buf.readVarInt();
+			origins[i] = buf.readVarInt();
+		}
+		boolean hadAll = buf.readBoolean();
+		int sequence = buf.readVarInt();
+		return new S2CSynchronizeOriginDelta(entity, layers, origins, hadAll, sequence);
+	}
+
+	/**
+	 * Applies this synchronization to the client-side entity.
+	 *
+	 * @return {@code true} if this synchronization was applied to the local player and must be acknowledged.
+	 */
+	boolean apply() {
+		Level level = DistExecutor.safeCallWhenOn(Dist.CLIENT, () -> OriginsClientUtils::getClientLevel);
+		if (level == null) return false;
+		Entity entity = level.getEntity(this.entity());
+		if (entity == null) return false;
+		OriginNetworkIds ids = OriginNetworkIds.client();
+		ImmutableMap.Builder<ResourceLocation, ResourceLocation> builder = ImmutableMap.builder();
+		for (int i = 0; i < this.layers().length; i++) {
+			ResourceLocation layer = ids.layer(this.layers()[i]);
+			ResourceLocation origin = ids.origin(this.origins()[i]);
+			if (layer == null || origin == null)
+				Origins.LOGGER.warn("Received unknown layer or origin id {}: {} for entity {}", this.layers()[i], this.origins()[i], this.entity());
+			else
+				builder.put(layer, origin);
+		}
+		boolean applied = entity.getCapability(OriginsAPI.ORIGIN_CONTAINER).map(x -> {
+			if (x instanceof OriginContainer container) {
+				container.acceptPartialSynchronization(builder.build(), this.hadAllOrigins());
+				return true;
+			}
+			return false;
+		}).orElse(false);
+		return applied && this.sequence() != 0 && entity == DistExecutor.safeCallWhenOn(Dist.CLIENT, () -> OriginsClientUtils::getClientPlayer);
+	}
+
+	public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
+		contextSupplier.get().enqueueWork(() -> {
+			if (this.apply())
+				OriginsCommon.CHANNEL.send(PacketDistributor.SERVER.noArg(), new C2SAcknowledgeOrigins(this.sequence()));
+		});
+		contextSupplier.get().setPacketHandled(true);
+	}
+}
@@ -0,0 +1,41 @@
+package io.github.edwinmindcraft.origins.common.network;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public record S2CSynchronizeOriginIds(List<ResourceLocation> layers, List<ResourceLocation> origins) {
+
+	private static void writeNames(FriendlyByteBuf buf, List<ResourceLocation> names) {
+		buf.writeVarInt(names.size());
+		names.forEach(buf::writeResourceLocation);
+	}
+
+	private static List<ResourceLocation> readNames(FriendlyByteBuf buf) {
+		int size = buf.readVarInt();
+		ImmutableList.Builder<ResourceLocation> builder = ImmutableList.builderWithExpectedSize(size);
+		for (int i = 0; i < size; i++)
+			builder.add(buf.readResourceLocation());
+		return builder.build();
+	}
+
+	public void encode(FriendlyByteBuf buf) {
+		writeNames(buf, this.layers());
+		writeNames(buf, this.origins());
+	}
+
+	public static S2CSynchronizeOriginIds decode(FriendlyByteBuf buf) {
+		List<ResourceLocation> layers = readNames(buf);
+		List<ResourceLocation> origins = readNames(buf);
+		return new S2CSynchronizeOriginIds(layers, origins);
+	}
+
+	public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
+		contextSupplier.get().enqueueWork(() -> OriginNetworkIds.acceptClient(this.layers(), this.origins()));
+		contextSupplier.get().setPacketHandled(true);
+	}
+}
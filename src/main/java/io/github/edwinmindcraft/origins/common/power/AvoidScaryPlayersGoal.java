@@ -0,0 +1,26 @@
+package io.github.edwinmindcraft.origins.common.power;
+
+import net.minecraft.world.entity.EntitySelector;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.entity.ai.goal.AvoidEntityGoal;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * Makes creepers flee players holding a {@code scare_creepers} power.<br>
+ * The entity scan is skipped entirely when {@link ScareCreepersIndex} has no such player nearby.
+ */
+public class AvoidScaryPlayersGoal extends AvoidEntityGoal<Player> {
+	//Matches the vertical range used by AvoidEntityGoal#canUse.
+	private static final double VERTICAL_RANGE = 3.0;
+
+	public AvoidScaryPlayersGoal(PathfinderMob mob) {
+		super(mob, Player.class, e -> PowerPresence.has(e, PowerPresence.SCARE_CREEPERS), 6.0F, 1.0D, 1.2D, EntitySelector.NO_CREATIVE_OR_SPECTATOR::test);
+	}
+
+	@Override
+	public boolean canUse() {
+		if (!ScareCreepersIndex.hasCandidateNear(this.mob.level, this.mob.getX(), this.mob.getY(), this.mob.getZ(), this.maxDist, VERTICAL_RANGE))
+			return false;
+		return super.canUse();
+	}
+}
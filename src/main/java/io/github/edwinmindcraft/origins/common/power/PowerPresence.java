@@ -0,0 +1,88 @@
+package io.github.edwinmindcraft.origins.common.power;
+
+import io.github.apace100.origins.power.OriginsPowerTypes;
+import io.github.edwinmindcraft.apoli.api.component.IPowerContainer;
+import io.github.edwinmindcraft.apoli.api.power.factory.PowerFactory;
+import io.github.edwinmindcraft.origins.common.OriginsProfiler;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.registries.RegistryObject;
+
+/**
+ * Caches which of the marker power factories of Origins a player holds, as a bitset stored on the player.<br>
+ * The bitset is recomputed at most once per tick, or when invalidated after an origin change.
+ * Other entities, which may be granted these powers through Apoli, are checked directly on their power container.
+ */
+public final class PowerPresence {
+	public static final int LIKE_WATER = 1;
+	public static final int WATER_BREATHING = 1 << 1;
+	public static final int SCARE_CREEPERS = 1 << 2;
+	public static final int CONDUIT_POWER_ON_LAND = 1 << 3;
+
+	/**
+	 * Implemented on {@link Player} by mixin.
+	 */
+	public interface Holder {
+		int origins$getPowerPresence();
+
+		int origins$getPowerPresenceTick();
+
+		void origins$setPowerPresence(int presence, int tick);
+	}
+
+	/**
+	 * Checks if the given entity holds a power of the given factory.
+	 *
+	 * @param entity The entity to check.
+	 * @param power  One of the flags of this class.
+	 *
+	 * @return {@code true} if the entity holds the power.
+	 */
+	public static boolean has(Entity entity, int power) {
+		if (!(entity instanceof Player player) || !(entity instanceof Holder holder))
+			return hasUncached(entity, power);
+		long start = OriginsProfiler.start();
+		int presence = holder.origins$getPowerPresence();
+		if (holder.origins$getPowerPresenceTick() != player.tickCount) {
+			presence = compute(player);
+			holder.origins$setPowerPresence(presence, player.tickCount);
+		}
+		OriginsProfiler.end(OriginsProfiler.Section.POWER_CHECK, start);
+		return (presence & power) != 0;
+	}
+
+	/**
+	 * Forces the presence of the given player to be recomputed on next access.
+	 */
+	public static void invalidate(Entity entity) {
+		if (entity instanceof Holder holder)
+			holder.origins$setPowerPresence(0, Integer.MIN_VALUE);
+	}
+
+	private static int compute(Player player) {
+		int presence = 0;
+		if (has(player, OriginsPowerTypes.LIKE_WATER))
+			presence |= LIKE_WATER;
+		if (has(player, OriginsPowerTypes.WATER_BREATHING))
+			presence |= WATER_BREATHING;
+		if (has(player, OriginsPowerTypes.SCARE_CREEPERS))
+			presence |= SCARE_CREEPERS;
+		if (has(player, OriginsPowerTypes.CONDUIT_POWER_ON_LAND))
+			presence |= CONDUIT_POWER_ON_LAND;
+		return presence;
+	}
+
+	private static boolean hasUncached(Entity entity, int power) {
+		return switch (power) {
+			case LIKE_WATER -> has(entity, OriginsPowerTypes.LIKE_WATER);
+			case WATER_BREATHING -> has(entity, OriginsPowerTypes.WATER_BREATHING);
+			case SCARE_CREEPERS -> has(entity, OriginsPowerTypes.SCARE_CREEPERS);
+			case CONDUIT_POWER_ON_LAND -> has(entity, OriginsPowerTypes.CONDUIT_POWER_ON_LAND);
+			default -> false;
+		};
+	}
+
+	private static boolean has(Entity entity, RegistryObject<? extends PowerFactory<?>> factory) {
+		return factory.isPresent() && IPowerContainer.hasPower(entity, factory.get());
+	}
+}
@@ -0,0 +1,84 @@
+package io.github.edwinmindcraft.origins.common.power;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-level index of the players holding a {@code scare_creepers} power, bucketed by chunk section.<br>
+ * Rebuilt at the start of every level tick, which lets creepers skip their avoidance scan when no such player is near.
+ * Must only be accessed from the server thread.
+ */
+public final class ScareCreepersIndex {
+	//Players may move a little during the tick, so lookups are extended by this many blocks.
+	private static final double MARGIN = 2.0;
+	private static final Map<ResourceKey<Level>, Long2ObjectMap<List<Player>>> INDEX = new HashMap<>();
+
+	/**
+	 * Rebuilds the index of the given level.
+	 */
+	public static void rebuild(@NotNull ServerLevel level) {
+		Long2ObjectMap<List<Player>> sections = null;
+		for (Player player : level.players()) {
+			if (!PowerPresence.has(player, PowerPresence.SCARE_CREEPERS))
+				continue;
+			if (sections == null)
+				sections = new Long2ObjectOpenHashMap<>();
+			sections.computeIfAbsent(SectionPos.of(player.blockPosition()).asLong(), x -> new ArrayList<>()).add(player);
+		}
+		if (sections == null)
+			INDEX.remove(level.dimension());
+		else
+			INDEX.put(level.dimension(), sections);
+	}
+
+	public static void clear() {
+		INDEX.clear();
+	}
+
+	/**
+	 * Checks if a player holding a {@code scare_creepers} power may be within the given distance of a position.
+	 *
+	 * @param level      The level to check.
+	 * @param x          The x coordinate of the position.
+	 * @param y          The y coordinate of the position.
+	 * @param z          The z coordinate of the position.
+	 * @param horizontal The horizontal distance.
+	 * @param vertical   The vertical distance.
+	 *
+	 * @return {@code false} if no such player is close, {@code true} otherwise.
+	 */
+	public static boolean hasCandidateNear(@NotNull Level level, double x, double y, double z, double horizontal, double vertical) {
+		Long2ObjectMap<List<Player>> sections = INDEX.get(level.dimension());
+		if (sections == null)
+			return false;
+		horizontal += MARGIN;
+		vertical += MARGIN;
+		int minX = SectionPos.blockToSectionCoord(Mth.floor(x - horizontal));
+		int maxX = SectionPos.blockToSectionCoord(Mth.floor(x + horizontal));
+		int minY = SectionPos.blockToSectionCoord(Mth.floor(y - vertical));
+		int maxY = SectionPos.blockToSectionCoord(Mth.floor(y + vertical));
+		int minZ = SectionPos.blockToSectionCoord(Mth.floor(z - horizontal));
+		int maxZ = SectionPos.blockToSectionCoord(Mth.floor(z + horizontal));
+		for (int sx = minX; sx <= maxX; sx++) {
+			for (int sy = minY; sy <= maxY; sy++) {
+				for (int sz = minZ; sz <= maxZ; sz++) {
+					if (sections.containsKey(SectionPos.asLong(sx, sy, sz)))
+						return true;
+				}
+			}
+		}
+		return false;
+	}
+}